@@ -0,0 +1,57 @@
+package org.testfx.issue224.benchmark;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testfx.issue224.KeyFolding;
+
+/**
+ * Cost of normalizing a single value, which is what every value costs when the
+ * keys are (re)built and what every key stroke costs for the query.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccentFoldingBenchmark
+{
+    @Param({"true", "false"})
+    boolean foldAccentMarks;
+
+    @Param({"en", "tr", "sv"})
+    String locale;
+
+    KeyFolding folding;
+
+    List<String> values;
+
+    int next;
+
+    @Setup
+    public void setUp()
+    {
+        values = Vocabulary.generate(1024, 42);
+        folding = KeyFolding.of(Locale.forLanguageTag(locale), foldAccentMarks);
+    }
+
+    @Benchmark
+    public void normalize(Blackhole blackhole)
+    {
+        blackhole.consume(folding.fold(values.get(next++ & 1023)));
+    }
+}
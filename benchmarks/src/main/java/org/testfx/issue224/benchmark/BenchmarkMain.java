@@ -0,0 +1,172 @@
+package org.testfx.issue224.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler (for bytes allocated per query), keeps
+ * the JMH JSON of every run in the results directory and compares the median
+ * latency and allocation of every benchmark with {@code baseline.properties}.
+ * <p>
+ * Accepts the usual JMH command line options, for example
+ * {@code java -jar target/benchmarks.jar Matching -p size=100000}. System
+ * properties:
+ * <ul>
+ *   <li>{@code benchmark.results}: the results directory, {@code results} by default</li>
+ *   <li>{@code benchmark.tolerance}: the allowed relative regression, {@code 0.2} by default</li>
+ *   <li>{@code benchmark.updateBaseline}: if true, replaces the baseline with this run</li>
+ * </ul>
+ * Exits with status 1 if any benchmark regressed beyond the tolerance.
+ */
+public final class BenchmarkMain
+{
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BenchmarkMain()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        Path resultsDirectory = Paths.get(System.getProperty("benchmark.results", "results"));
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.2"));
+        boolean updateBaseline = Boolean.getBoolean("benchmark.updateBaseline");
+
+        Files.createDirectories(resultsDirectory);
+        Path resultFile = resultsDirectory.resolve(
+            "jmh-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json");
+
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile.toString())
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> summary = summarize(results);
+        Path baselineFile = resultsDirectory.resolve("baseline.properties");
+        if (updateBaseline || !Files.exists(baselineFile))
+        {
+            store(summary, baselineFile);
+            System.out.println("Baseline written to " + baselineFile);
+            return;
+        }
+
+        List<String> regressions = compare(load(baselineFile), summary, tolerance);
+        for (String regression : regressions)
+        {
+            System.out.println("REGRESSION " + regression);
+        }
+        if (!regressions.isEmpty())
+        {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reduces every run to its median latency and its bytes allocated per
+     * operation, keyed by benchmark name and parameters.
+     */
+    static Map<String, Double> summarize(final Collection<RunResult> results)
+    {
+        Map<String, Double> summary = new TreeMap<>();
+        for (RunResult result : results)
+        {
+            String key = key(result.getParams());
+            Result<?> primary = result.getPrimaryResult();
+            summary.put(key + ".p50", primary.getStatistics().getPercentile(50));
+            summary.put(key + ".p99", primary.getStatistics().getPercentile(99));
+            for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet())
+            {
+                if (secondary.getKey().endsWith(ALLOCATION))
+                {
+                    summary.put(key + ".bytes", secondary.getValue().getScore());
+                }
+            }
+        }
+        return summary;
+    }
+
+    static List<String> compare(final Map<String, Double> baseline, final Map<String, Double> current,
+                                final double tolerance)
+    {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : current.entrySet())
+        {
+            Double expected = baseline.get(entry.getKey());
+            // p99 is too noisy on shared machines to fail a build on
+            if (expected == null || entry.getKey().endsWith(".p99"))
+            {
+                continue;
+            }
+            // allow a few bytes of slack so that zero-allocation baselines stay usable
+            double limit = expected * (1 + tolerance) + (entry.getKey().endsWith(".bytes") ? 16 : 0);
+            if (entry.getValue() > limit)
+            {
+                regressions.add(entry.getKey() + ": " + entry.getValue() + " > " + expected);
+            }
+        }
+        return regressions;
+    }
+
+    private static String key(final BenchmarkParams params)
+    {
+        StringBuilder key = new StringBuilder(params.getBenchmark());
+        for (String name : params.getParamsKeys())
+        {
+            key.append('[').append(name).append('=').append(params.getParam(name)).append(']');
+        }
+        return key.toString();
+    }
+
+    private static void store(final Map<String, Double> summary, final Path file) throws IOException
+    {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Double> entry : summary.entrySet())
+        {
+            properties.setProperty(entry.getKey(), Double.toString(entry.getValue()));
+        }
+        try (OutputStream out = Files.newOutputStream(file))
+        {
+            properties.store(out, "median latency, p99 latency and bytes allocated per operation");
+        }
+    }
+
+    private static Map<String, Double> load(final Path file) throws IOException
+    {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file))
+        {
+            properties.load(in);
+        }
+        Map<String, Double> baseline = new TreeMap<>();
+        for (String name : properties.stringPropertyNames())
+        {
+            baseline.put(name, Double.parseDouble(properties.getProperty(name)));
+        }
+        return baseline;
+    }
+}
@@ -0,0 +1,67 @@
+package org.testfx.issue224.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+import org.testfx.issue224.InMemorySuggestionProvider;
+import org.testfx.issue224.SuggestionPage;
+import org.testfx.issue224.SuggestionQuery;
+
+/**
+ * A full CONTAINS scan with the keys matched one by one as strings versus the
+ * vectorized scan of the packed Latin-1 keys. The vector fork needs Java 17 or
+ * later, since it adds the {@code jdk.incubator.vector} module.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class ContainsKernelBenchmark
+{
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"ca", "cara", "vels"})
+    String text;
+
+    InMemorySuggestionProvider<String> provider;
+
+    SuggestionQuery query;
+
+    @Setup
+    public void setUp()
+    {
+        provider = InMemorySuggestionProvider.of(Vocabulary.generate(size, 42));
+        provider.setNarrowing(false);
+        query = new SuggestionQuery(SuggestionQuery.normalize(text, true), AutoCompleteMode.CONTAINS, true, 0,
+            Integer.MAX_VALUE);
+        // build the normalized and packed keys outside of the measurement
+        provider.match(query);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.testfx.issue224.vectorKernel=false"})
+    public SuggestionPage<String> scalar()
+    {
+        return provider.match(query);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "--add-modules", "jdk.incubator.vector"})
+    public SuggestionPage<String> vector()
+    {
+        return provider.match(query);
+    }
+}
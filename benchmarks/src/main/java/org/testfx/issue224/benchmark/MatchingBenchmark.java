@@ -0,0 +1,62 @@
+package org.testfx.issue224.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+import org.testfx.issue224.InMemorySuggestionProvider;
+import org.testfx.issue224.SuggestionPage;
+import org.testfx.issue224.SuggestionQuery;
+
+/**
+ * Cost of one query against the in-memory provider, i.e. the filtering done in
+ * the KEY_RELEASED handler for a single key stroke.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class MatchingBenchmark
+{
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"STARTS_WITH", "CONTAINS"})
+    AutoCompleteMode mode;
+
+    @Param({"c", "ca", "cara"})
+    String text;
+
+    InMemorySuggestionProvider<String> provider;
+
+    SuggestionQuery query;
+
+    @Setup
+    public void setUp()
+    {
+        provider = InMemorySuggestionProvider.of(Vocabulary.generate(size, 42));
+        // repeating the query would otherwise only scan its own matches
+        provider.setNarrowing(false);
+        query = new SuggestionQuery(SuggestionQuery.normalize(text, true), mode, true, 0, Integer.MAX_VALUE);
+        // build the normalized keys outside of the measurement
+        provider.match(query);
+    }
+
+    @Benchmark
+    public SuggestionPage<String> match()
+    {
+        return provider.match(query);
+    }
+}
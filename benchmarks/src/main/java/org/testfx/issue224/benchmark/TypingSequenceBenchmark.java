@@ -0,0 +1,81 @@
+package org.testfx.issue224.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+import org.testfx.issue224.InMemorySuggestionProvider;
+import org.testfx.issue224.SuggestionQuery;
+
+/**
+ * Types a word one character at a time and deletes it again with backspace, the
+ * way a user narrows the suggestions down and changes their mind. Every
+ * intermediate text is normalized and matched like the control does on each key
+ * stroke; scores are per key stroke.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TypingSequenceBenchmark
+{
+    private static final String WORD = "Carañalu";
+
+    /**
+     * One key stroke per character typed and one per backspace.
+     */
+    private static final int KEY_STROKES = 16;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"STARTS_WITH", "CONTAINS"})
+    AutoCompleteMode mode;
+
+    @Param({"true", "false"})
+    boolean foldAccentMarks;
+
+    InMemorySuggestionProvider<String> provider;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        provider = InMemorySuggestionProvider.of(Vocabulary.generate(size, 42));
+        provider.match(query(WORD.substring(0, 1)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEY_STROKES)
+    public void typeThenBackspace(Blackhole blackhole)
+    {
+        for (int length = 1; length <= WORD.length(); length++)
+        {
+            blackhole.consume(provider.match(query(WORD.substring(0, length))));
+        }
+        for (int length = WORD.length() - 1; length >= 0; length--)
+        {
+            blackhole.consume(provider.match(query(WORD.substring(0, length))));
+        }
+    }
+
+    private SuggestionQuery query(final String text)
+    {
+        return new SuggestionQuery(SuggestionQuery.normalize(text, foldAccentMarks), mode, foldAccentMarks, 0,
+            Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,87 @@
+package org.testfx.issue224.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible vocabularies of made-up multilingual names: mostly
+ * plain Latin, with accented Latin, German, Greek and Cyrillic syllables mixed in
+ * at roughly the rate they show up in real customer and product lists.
+ */
+public final class Vocabulary
+{
+    private static final String[] LATIN = {
+        "ca", "ra", "do", "mi", "lu", "ne", "to", "sa", "pe", "li", "an", "go", "ber", "ry", "ma", "ta",
+        "ri", "ko", "vel", "son", "ar", "ie", "ha", "un", "est", "or"
+    };
+
+    private static final String[] ACCENTED = {
+        "ça", "ã", "é", "è", "ñ", "ü", "ø", "ł", "ő", "ā", "í", "ó", "ů", "ž", "ș"
+    };
+
+    private static final String[] GERMAN = {"ß", "straße", "mü", "grü"};
+
+    private static final String[] GREEK = {"κα", "λο", "μα", "νι", "σο", "ρα"};
+
+    private static final String[] CYRILLIC = {"ка", "ло", "ми", "ра", "ни", "ва"};
+
+    private Vocabulary()
+    {
+    }
+
+    public static List<String> generate(final int size, final long seed)
+    {
+        Random random = new Random(seed);
+        List<String> values = new ArrayList<>(size);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++)
+        {
+            builder.setLength(0);
+            int words = 1 + random.nextInt(3);
+            for (int w = 0; w < words; w++)
+            {
+                if (w > 0)
+                {
+                    builder.append(' ');
+                }
+                int start = builder.length();
+                int syllables = 2 + random.nextInt(3);
+                for (int s = 0; s < syllables; s++)
+                {
+                    builder.append(syllable(random));
+                }
+                builder.setCharAt(start, Character.toUpperCase(builder.charAt(start)));
+            }
+            values.add(builder.toString());
+        }
+        return values;
+    }
+
+    private static String syllable(final Random random)
+    {
+        int kind = random.nextInt(100);
+        if (kind < 80)
+        {
+            return pick(random, LATIN);
+        }
+        if (kind < 92)
+        {
+            return pick(random, ACCENTED);
+        }
+        if (kind < 94)
+        {
+            return pick(random, GERMAN);
+        }
+        if (kind < 97)
+        {
+            return pick(random, GREEK);
+        }
+        return pick(random, CYRILLIC);
+    }
+
+    private static String pick(final Random random, final String[] syllables)
+    {
+        return syllables[random.nextInt(syllables.length)];
+    }
+}
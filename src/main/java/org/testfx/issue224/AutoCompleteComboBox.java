@@ -1,36 +1,59 @@
 package org.testfx.issue224;
 
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
-import javafx.collections.FXCollections;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.Skin;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Region;
+import javafx.util.Callback;
+import javafx.util.StringConverter;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableMap;
 
 /**
- * TODO: Expose items observable list so that controls can listen for changes (this
- * would be good for say a ListView which would sync its contents (what it shows)
- * with the items as they are matched/not matched)
+ * An editable combo box that suggests the values matching the typed text.
+ * <p>
+ * The current suggestions are exposed by {@link #getMatchedItems()} so that other
+ * controls can listen for changes (this is good for say a ListView which syncs its
+ * contents (what it shows) with the items as they are matched/not matched).
+ *
+ * @param <T> the type of the values; each value is matched and displayed by the
+ *     key returned for it by the key extractor
  */
-public class AutoCompleteComboBox extends Region
+public class AutoCompleteComboBox<T> extends Region
 {
     /**
-     * The {@code ComboBox<String>} control which will have auto-completion behavior
+     * The {@code ComboBox<T>} control which will have auto-completion behavior
      * enabled on.
      */
-    private final ComboBox<String> comboBox;
+    private final DeferredSkinComboBox comboBox;
 
     /**
-     * The list of pre-populated values to select from to complete.
+     * Returns the key of a value, which is what is matched and displayed.
      */
-    private final List<String> values;
+    private final Function<? super T, String> keyExtractor;
+
+    /**
+     * Whether the values are strings that are their own keys, in which case
+     * typed text that is not one of the values is committed as it is, like a
+     * plain editable combo box does.
+     */
+    private final boolean textIsValue;
 
     /**
      * The mode of autocompletion (starts with or contains). Note that starts with
@@ -44,28 +67,250 @@ public class AutoCompleteComboBox extends Region
      */
     private boolean foldAccentMarks = true;
 
+    /**
+     * The locale whose case mappings and collation rules decide which characters
+     * match, see {@link KeyFolding}.
+     */
+    private Locale locale = Locale.getDefault();
+
+    /**
+     * The provider matching the pre-populated values, or null if the control was
+     * created with a custom {@link SuggestionProvider}.
+     */
+    private final InMemorySuggestionProvider<T> valuesProvider;
+
+    /**
+     * Sends the queries to the current {@link SuggestionProvider}, one at a time.
+     */
+    private final SuggestionRequestQueue<T> suggestionRequests;
+
+    /**
+     * The maximum number of suggestions requested per query, see
+     * {@link #setPageSize(int)}.
+     */
+    private int pageSize;
+
+    /**
+     * Selection counters used to move frequently and recently chosen values to the
+     * top of the matches, created on the first selection or when a file is set.
+     */
+    private UsageStatistics usageStatistics;
+
+    /**
+     * The file the usage statistics are persisted to, or null if they are only
+     * kept in memory.
+     */
+    private Path usageStatisticsFile;
+
+    /**
+     * Whether the key being pressed moves through the suggestions, and whether it
+     * changed the selection, which is then recorded once committed.
+     */
+    private boolean navigating;
+    private boolean selectionPending;
+
+    /**
+     * The current suggestions, which are also the items of the combo box.
+     */
+    private final MatchedItemsList<T> matchedItems;
+
+    /**
+     * Told about the time spent in the hot paths, or null to measure nothing.
+     */
+    private AutoCompleteMetricsListener metricsListener;
+
+    /**
+     * When the latest query was submitted, if measuring.
+     */
+    private long querySubmittedAt;
+
+    /**
+     * The latest query submitted by {@link #refreshSuggestions()}, whose results
+     * update an open popup in place.
+     */
+    private SuggestionQuery refreshQuery;
+
+    /**
+     * The Flight Recorder event of the latest query, if it is being recorded.
+     */
+    private QueryEvent queryEvent;
+
+    private final ChangeListener<Boolean> showingMetrics = (observable, wasShowing, showing) ->
+    {
+        if (showing)
+        {
+            metricsListener.popupShown();
+        }
+        else
+        {
+            metricsListener.popupHidden();
+        }
+    };
+
+    /**
+     * The height of the rows of the popup in the fast rendering mode, or
+     * {@link Region#USE_COMPUTED_SIZE} to measure every row.
+     */
+    private double fixedCellSize = Region.USE_COMPUTED_SIZE;
+
+    private boolean highlightMatches;
+
+    /**
+     * The list shown by the popup of the current skin, or null if the skin does
+     * not have one or has not been created yet.
+     */
+    private ListView<T> popupList;
+
+    /**
+     * If true, the combo box shows a {@link DeferredComboBoxSkin} until it is
+     * focused for the first time.
+     */
+    private boolean deferSkin = true;
+
+    private static final int VISIBLE_ROW_COUNT = 8;
+
+    /**
+     * The default page size of controls created for a {@link SuggestionProvider}.
+     */
+    private static final int PROVIDER_PAGE_SIZE = 100;
+
+    /**
+     * The key extractor of the constructors without one, which {@link #textIsValue}
+     * recognizes.
+     */
+    private static final Function<Object, String> TO_STRING = Object::toString;
+
+    private static final String ROWS_TO_MEASURE_WIDTH_KEY = "comboBoxRowsToMeasureWidth";
+
+    private final ChangeListener<Number> visibleRowCountMetrics =
+        (observable, oldCount, newCount) -> metricsListener.popupResized();
+
     public enum AutoCompleteMode
     {
         STARTS_WITH,
         CONTAINS
     }
 
-    public AutoCompleteComboBox(final List<String> values)
+    /**
+     * Creates a control for values whose {@code toString()} is their key, such as
+     * strings.
+     */
+    public AutoCompleteComboBox(final List<T> values)
     {
         this(values, AutoCompleteMode.CONTAINS);
     }
 
-    public AutoCompleteComboBox(final List<String> values, final AutoCompleteMode autoCompleteMode)
+    public AutoCompleteComboBox(final List<T> values, final AutoCompleteMode autoCompleteMode)
+    {
+        this(values, TO_STRING, autoCompleteMode);
+    }
+
+    public AutoCompleteComboBox(final List<T> values, final Function<? super T, String> keyExtractor)
     {
-        this.values = values;
+        this(values, keyExtractor, AutoCompleteMode.CONTAINS);
+    }
+
+    /**
+     * Creates a control for the given values. The key extractor is applied to
+     * every value once, when the values are indexed, and never while typing.
+     */
+    public AutoCompleteComboBox(final List<T> values, final Function<? super T, String> keyExtractor,
+                                final AutoCompleteMode autoCompleteMode)
+    {
+        this(keyExtractor, new InMemorySuggestionProvider<>(values, keyExtractor), autoCompleteMode);
+    }
+
+    /**
+     * Creates a control whose suggestions come from the given provider instead of
+     * a list held in memory. The key extractor is used to display the suggestions.
+     * At most 100 suggestions are requested per query unless
+     * {@link #setPageSize(int)} says otherwise.
+     */
+    public AutoCompleteComboBox(final SuggestionProvider<T> suggestionProvider,
+                                final Function<? super T, String> keyExtractor,
+                                final AutoCompleteMode autoCompleteMode)
+    {
+        this(keyExtractor, suggestionProvider, null, autoCompleteMode);
+    }
+
+    private AutoCompleteComboBox(final Function<? super T, String> keyExtractor,
+                                 final InMemorySuggestionProvider<T> valuesProvider,
+                                 final AutoCompleteMode autoCompleteMode)
+    {
+        this(keyExtractor, valuesProvider, valuesProvider, autoCompleteMode);
+    }
+
+    private AutoCompleteComboBox(final Function<? super T, String> keyExtractor,
+                                 final SuggestionProvider<T> suggestionProvider,
+                                 final InMemorySuggestionProvider<T> valuesProvider,
+                                 final AutoCompleteMode autoCompleteMode)
+    {
+        this.keyExtractor = keyExtractor;
+        this.valuesProvider = valuesProvider;
+        // Function.identity() only fits a key extractor of strings
+        textIsValue = keyExtractor == Function.identity()
+            || keyExtractor == TO_STRING && valuesProvider != null && areStrings(valuesProvider.getValues());
         this.autoCompleteMode = autoCompleteMode;
-        comboBox = new ComboBox<>();
-        comboBox.setVisibleRowCount(8);
+        pageSize = valuesProvider != null ? Integer.MAX_VALUE : PROVIDER_PAGE_SIZE;
+
+        if (valuesProvider != null)
+        {
+            matchedItems = new MatchedItemsList<>(valuesProvider.all());
+        }
+        else
+        {
+            matchedItems = new MatchedItemsList<>(new SuggestionPage<>(Collections.emptyList(), new int[0], false));
+        }
+
+        comboBox = new DeferredSkinComboBox(matchedItems);
+        comboBox.setVisibleRowCount(VISIBLE_ROW_COUNT);
         comboBox.setEditable(true);
-        comboBox.setItems(FXCollections.observableArrayList(values));
+        comboBox.setConverter(new KeyConverter());
         getChildren().setAll(comboBox);
 
-        comboBox.addEventHandler(KeyEvent.KEY_PRESSED, keyEvent -> comboBox.hide());
+        suggestionRequests = new SuggestionRequestQueue<>(suggestionProvider, this::showSuggestions);
+
+        comboBox.skinProperty().addListener(observable ->
+        {
+            popupList = null;
+            configurePopupList();
+            prebuildCells();
+        });
+
+        // a selection is recorded whenever the value changes, whether by a click in
+        // the popup, ENTER or a commit of the typed text, except while moving through
+        // the suggestions with the keyboard, which is only recorded once committed by
+        // ENTER or by leaving the control
+        comboBox.addEventFilter(KeyEvent.KEY_PRESSED, event -> navigating = isSelectionKey(event.getCode()));
+        comboBox.valueProperty().addListener((observable, oldValue, newValue) ->
+        {
+            if (navigating)
+            {
+                selectionPending = true;
+            }
+            else
+            {
+                recordSelection();
+            }
+        });
+        comboBox.focusedProperty().addListener((observable, wasFocused, focused) ->
+        {
+            if (!focused && selectionPending)
+            {
+                recordSelection();
+            }
+        });
+
+        comboBox.addEventHandler(KeyEvent.KEY_PRESSED, keyEvent ->
+        {
+            // with a fixed cell size the popup stays open while typing and is resized
+            // in place, see showSuggestions; it is hidden for the keys its list would
+            // otherwise take to change the selection and with it the editor text
+            if (!isFixedCellSizeMode() || isNavigationKey(keyEvent.getCode()))
+            {
+                comboBox.hide();
+            }
+        });
 
         comboBox.addEventHandler(KeyEvent.KEY_RELEASED, new EventHandler<KeyEvent>()
         {
@@ -75,6 +320,12 @@ public class AutoCompleteComboBox extends Region
             @Override
             public void handle(KeyEvent event)
             {
+                navigating = false;
+                if (event.getCode() == KeyCode.ENTER && selectionPending)
+                {
+                    recordSelection();
+                }
+
                 if (event.getCode() == KeyCode.UP)
                 {
                     caretPos = -1;
@@ -112,42 +363,14 @@ public class AutoCompleteComboBox extends Region
 
                 if (event.getCode() == KeyCode.RIGHT || event.getCode() == KeyCode.LEFT
                     || event.isControlDown() || event.getCode() == KeyCode.HOME
-                    || event.getCode() == KeyCode.END || event.getCode() == KeyCode.TAB)
+                    || event.getCode() == KeyCode.END || event.getCode() == KeyCode.PAGE_UP
+                    || event.getCode() == KeyCode.PAGE_DOWN || event.getCode() == KeyCode.TAB)
                 {
                     return;
                 }
 
-                ObservableList<String> list = FXCollections.observableArrayList();
-
-                for (String item : values)
-                {
-                    String itemBeforeFolding = item;
-                    if (foldAccentMarks)
-                    {
-                        item = foldAccentMarks(item);
-                    }
-
-                    if (getAutoCompleteMode() == AutoCompleteMode.CONTAINS)
-                    {
-                        if (item.toLowerCase().contains(comboBox.getEditor().getText().toLowerCase()))
-                        {
-                            list.add(itemBeforeFolding);
-                        }
-                    }
-                    else if (getAutoCompleteMode() == AutoCompleteMode.STARTS_WITH)
-                    {
-                        if (item.toLowerCase().startsWith(comboBox.getEditor().getText().toLowerCase()))
-                        {
-                            list.add(itemBeforeFolding);
-                        }
-                    }
-                }
-
                 String text = comboBox.getEditor().getText();
-
-                comboBox.hide();
-                comboBox.setVisibleRowCount(Math.min(list.size(), 8));
-                comboBox.setItems(list);
+                submitQuery(text, false);
 
                 if (!moveCaretToPos)
                 {
@@ -155,15 +378,6 @@ public class AutoCompleteComboBox extends Region
                 }
 
                 moveCaret(text.length());
-
-                // show combobox as long as:
-                // * there is at least one match
-                // * the textfield as at least one character
-                // * the user has not selected an item
-                if (!list.isEmpty() && !text.isEmpty() && comboBox.getSelectionModel().getSelectedItem() == null)
-                {
-                    comboBox.show();
-                }
             }
 
             private void moveCaret(int textLength)
@@ -181,6 +395,55 @@ public class AutoCompleteComboBox extends Region
         });
     }
 
+    /**
+     * Queries the suggestion provider again for the current text, for providers
+     * whose suggestions change over time, such as a
+     * {@link StreamingSuggestionProvider} that is still loading. The query is
+     * looked up again even if a lookup of the same text is running, and an open
+     * popup is updated in place rather than hidden and shown again. A closed popup
+     * is only shown if text has been typed.
+     */
+    public void refreshSuggestions()
+    {
+        String text = comboBox.getEditor().getText();
+        submitQuery(text == null ? "" : text, true);
+    }
+
+    private void submitQuery(final String text, final boolean refresh)
+    {
+        QueryEvent recordedQuery = FlightRecorderEvents.beginQuery();
+        if (recordedQuery != null)
+        {
+            recordedQuery.queryLength = text.length();
+            recordedQuery.mode = getAutoCompleteMode().name();
+            recordedQuery.foldAccentMarks = foldAccentMarks;
+            queryEvent = recordedQuery;
+        }
+
+        AutoCompleteMetricsListener metrics = metricsListener;
+        long startTime = metrics == null ? 0 : System.nanoTime();
+        KeyFolding folding = KeyFolding.of(locale, foldAccentMarks);
+        String normalizedText = folding.fold(text);
+        if (metrics != null)
+        {
+            querySubmittedAt = startTime;
+            metrics.queryNormalized(System.nanoTime() - startTime);
+        }
+
+        // providers that answer synchronously update the popup right here,
+        // others once their lookup completes
+        SuggestionQuery query = new SuggestionQuery(normalizedText, getAutoCompleteMode(), folding, 0, pageSize);
+        if (refresh)
+        {
+            refreshQuery = query;
+            suggestionRequests.refresh(query);
+        }
+        else
+        {
+            suggestionRequests.submit(query);
+        }
+    }
+
     public void setAutoCompleteMode(AutoCompleteMode autoCompleteMode)
     {
         this.autoCompleteMode = autoCompleteMode;
@@ -191,11 +454,115 @@ public class AutoCompleteComboBox extends Region
         return autoCompleteMode;
     }
 
-    public String getSelection()
+    /**
+     * Returns the selected value, or null if nothing is selected or the typed text
+     * is not the key of any suggestion.
+     */
+    public T getSelection()
     {
         return comboBox.getSelectionModel().getSelectedItem();
     }
 
+    public SuggestionProvider<T> getSuggestionProvider()
+    {
+        return suggestionRequests.getProvider();
+    }
+
+    /**
+     * Replaces the source of the suggestions. A lookup still running on the
+     * previous provider is cancelled and its results are discarded, and a query
+     * waiting for it is dropped.
+     */
+    public void setSuggestionProvider(SuggestionProvider<T> suggestionProvider)
+    {
+        suggestionRequests.setProvider(suggestionProvider);
+    }
+
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+
+    /**
+     * Sets the maximum number of suggestions requested from the provider per
+     * query. Defaults to no limit for values held in memory, and to 100 for a
+     * control created for a {@link SuggestionProvider}, whose vocabulary may be
+     * large: every page is copied into the popup on the JavaFX thread.
+     */
+    public void setPageSize(int pageSize)
+    {
+        if (pageSize <= 0)
+        {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the selection counters that are used to rank the matches.
+     */
+    public UsageStatistics getUsageStatistics()
+    {
+        if (usageStatistics == null)
+        {
+            // the fingerprint and counters cover all values, so they are only
+            // computed for controls that are actually used
+            if (valuesProvider != null)
+            {
+                usageStatistics = new UsageStatistics(valuesProvider.getValues().size(),
+                    valuesProvider.fingerprint());
+                valuesProvider.setUsageStatistics(usageStatistics);
+            }
+            else
+            {
+                usageStatistics = new UsageStatistics(0, 0);
+            }
+        }
+        return usageStatistics;
+    }
+
+    public Path getUsageStatisticsFile()
+    {
+        return usageStatisticsFile;
+    }
+
+    /**
+     * Sets the file the usage statistics are persisted to. The file is read on a
+     * background thread and merged with the selections made so far; every
+     * selection afterwards writes a snapshot back, again off the JavaFX
+     * application thread. Failing to read or write the file only loses the
+     * statistics, it never affects auto-completion itself.
+     */
+    public void setUsageStatisticsFile(Path usageStatisticsFile)
+    {
+        this.usageStatisticsFile = usageStatisticsFile;
+        if (usageStatisticsFile == null)
+        {
+            return;
+        }
+
+        UsageStatistics current = getUsageStatistics();
+        UsageStatistics.load(usageStatisticsFile, current.size(), current.getFingerprint())
+            .whenComplete((loaded, error) ->
+            {
+                if (loaded != null)
+                {
+                    Platform.runLater(() ->
+                    {
+                        if (usageStatisticsFile.equals(this.usageStatisticsFile))
+                        {
+                            loaded.merge(usageStatistics);
+                            usageStatistics = loaded;
+                            if (valuesProvider != null)
+                            {
+                                valuesProvider.setUsageStatistics(loaded);
+                            }
+                        }
+                    });
+                }
+            });
+    }
+
     public boolean isFoldAccentMarks()
     {
         return foldAccentMarks;
@@ -206,679 +573,471 @@ public class AutoCompleteComboBox extends Region
         this.foldAccentMarks = foldAccentMarks;
     }
 
+    public Locale getLocale()
+    {
+        return locale;
+    }
+
+    /**
+     * Sets the locale the typed text and the keys are matched in, which defaults
+     * to the default locale. It decides how the case is folded (a Turkish "I"
+     * only matches "ı", a German "ß" matches "ss") and which accented letters are
+     * letters of their own rather than variants of their base letters (a Swedish
+     * "å" does not match "a"). The keys are normalized for a locale once, the
+     * first time they are matched in it.
+     */
+    public void setLocale(Locale locale)
+    {
+        this.locale = Objects.requireNonNull(locale, "locale");
+    }
+
+    public Function<? super T, String> getKeyExtractor()
+    {
+        return keyExtractor;
+    }
+
+    /**
+     * Returns the suggestions for the current text. The list is read-only, always
+     * the same instance, and fires a single change per query that only covers the
+     * suggestions that were actually added or removed.
+     */
+    public ObservableList<T> getMatchedItems()
+    {
+        return matchedItems;
+    }
+
+    ReadOnlyObjectProperty<SuggestionPage<T>> currentPageProperty()
+    {
+        return matchedItems.pageProperty();
+    }
+
+    /**
+     * Returns the offset in the key of the item at the given index in the popup
+     * where the typed text matched, or -1 if unknown.
+     */
+    public int getMatchStart(int itemIndex)
+    {
+        SuggestionPage<T> page = matchedItems.getPage();
+        return itemIndex < 0 || itemIndex >= page.getItems().size() ? -1 : page.getMatchStart(itemIndex);
+    }
+
+    /**
+     * Returns the offset in the key of the item at the given index in the popup
+     * where the match ended, or -1 if unknown.
+     */
+    public int getMatchEnd(int itemIndex)
+    {
+        SuggestionPage<T> page = matchedItems.getPage();
+        return itemIndex < 0 || itemIndex >= page.getItems().size() ? -1 : page.getMatchEnd(itemIndex);
+    }
+
+    /**
+     * Returns a cell factory that shows the matched part of every suggestion in
+     * bold, using the offsets recorded while matching.
+     */
+    public Callback<ListView<T>, ListCell<T>> createMatchHighlightingCellFactory()
+    {
+        return listView -> new MatchHighlightingListCell<>(this);
+    }
+
+    public boolean isHighlightMatches()
+    {
+        return highlightMatches;
+    }
+
+    /**
+     * If true, the popup uses {@link MatchHighlightingListCell}s to show the
+     * matched part of every suggestion in bold.
+     */
+    public void setHighlightMatches(boolean highlightMatches)
+    {
+        this.highlightMatches = highlightMatches;
+        updateCellFactory();
+    }
+
+    public double getFixedCellSize()
+    {
+        return fixedCellSize;
+    }
+
+    /**
+     * Sets the height of every row of the popup, which enables a rendering mode
+     * whose cost per key stroke does not depend on the number of suggestions: rows
+     * are not measured, the popup width is measured on the first rows only, the
+     * cells are created up front and reused, and the popup stays open while typing
+     * and is resized in place instead of being hidden and shown again. Pass
+     * {@link Region#USE_COMPUTED_SIZE} (or any size that is not positive), the
+     * default, to measure every row.
+     * <p>
+     * Suggestions are cut off with an ellipsis if they do not fit the popup
+     * width.
+     */
+    public void setFixedCellSize(double fixedCellSize)
+    {
+        this.fixedCellSize = fixedCellSize > 0 ? fixedCellSize : Region.USE_COMPUTED_SIZE;
+        updateCellFactory();
+        configurePopupList();
+    }
+
+    private boolean isFixedCellSizeMode()
+    {
+        return fixedCellSize > 0;
+    }
+
+    private static boolean isNavigationKey(KeyCode code)
+    {
+        return code == KeyCode.UP || code == KeyCode.DOWN || code == KeyCode.ENTER || code == KeyCode.ESCAPE
+            || code == KeyCode.TAB || code == KeyCode.HOME || code == KeyCode.END || code == KeyCode.PAGE_UP
+            || code == KeyCode.PAGE_DOWN;
+    }
+
+    private static boolean isSelectionKey(KeyCode code)
+    {
+        return code == KeyCode.UP || code == KeyCode.DOWN || code == KeyCode.HOME || code == KeyCode.END
+            || code == KeyCode.PAGE_UP || code == KeyCode.PAGE_DOWN;
+    }
+
+    private void updateCellFactory()
+    {
+        Callback<ListView<T>, ListCell<T>> cellFactory = highlightMatches ? createMatchHighlightingCellFactory()
+            : isFixedCellSizeMode() ? listView -> new KeyListCell() : null;
+        if (cellFactory != null && isFixedCellSizeMode())
+        {
+            // the visible rows, the one scrolled in and the one the list measures with
+            cellFactory = new PrebuiltCellFactory<>(cellFactory, VISIBLE_ROW_COUNT + 2);
+        }
+        comboBox.setCellFactory(cellFactory);
+        prebuildCells();
+    }
+
+    /**
+     * Creates the cells of the popup up front, once there is a popup to show them.
+     */
+    private void prebuildCells()
+    {
+        Callback<ListView<T>, ListCell<T>> cellFactory = comboBox.getCellFactory();
+        if (cellFactory instanceof PrebuiltCellFactory && !isSkinDeferred())
+        {
+            ((PrebuiltCellFactory<T>) cellFactory).prebuild();
+        }
+    }
+
+    public boolean isDeferSkin()
+    {
+        return deferSkin;
+    }
+
+    /**
+     * If true, the default, the combo box is drawn by a lightweight stand-in skin
+     * until it is first focused, and only then gets its editor, popup and list
+     * view. This keeps forms with many controls quick to open and small in memory.
+     * Setting it to false creates the default skin right away.
+     */
+    public void setDeferSkin(boolean deferSkin)
+    {
+        this.deferSkin = deferSkin;
+        if (!deferSkin)
+        {
+            comboBox.installDefaultSkin();
+        }
+    }
+
+    private boolean isSkinDeferred()
+    {
+        Skin<?> skin = comboBox.getSkin();
+        return skin instanceof DeferredComboBoxSkin || (skin == null && deferSkin && !comboBox.focusRequested);
+    }
+
+    private void configurePopupList()
+    {
+        ListView<T> list = getPopupList();
+        if (list == null)
+        {
+            return;
+        }
+
+        list.setFixedCellSize(fixedCellSize);
+        if (isFixedCellSizeMode())
+        {
+            comboBox.getProperties().put(ROWS_TO_MEASURE_WIDTH_KEY, VISIBLE_ROW_COUNT);
+        }
+        else
+        {
+            comboBox.getProperties().remove(ROWS_TO_MEASURE_WIDTH_KEY);
+        }
+    }
+
+    /**
+     * Returns the list view of the popup of the default skin. The skin classes
+     * moved between JavaFX releases, so the list is looked up reflectively; with
+     * a custom skin this returns null and the popup is rendered as usual.
+     */
+    @SuppressWarnings("unchecked")
+    ListView<T> getPopupList()
+    {
+        Skin<?> skin = comboBox.getSkin();
+        if (popupList == null && skin != null)
+        {
+            try
+            {
+                Object popupContent = skin.getClass().getMethod("getPopupContent").invoke(skin);
+                if (popupContent instanceof ListView)
+                {
+                    popupList = (ListView<T>) popupContent;
+                }
+            }
+            catch (ReflectiveOperationException | RuntimeException e)
+            {
+                // not the default skin
+            }
+        }
+        return popupList;
+    }
+
+    public AutoCompleteMetricsListener getMetricsListener()
+    {
+        return metricsListener;
+    }
+
+    /**
+     * Sets the listener told about query latencies, filter and fold times,
+     * candidate counts and popup updates, for example an
+     * {@link AutoCompleteMetrics}. Null, the default, measures nothing, leaving
+     * only a null check on the key handling path.
+     */
+    public void setMetricsListener(AutoCompleteMetricsListener metricsListener)
+    {
+        if (this.metricsListener == null && metricsListener != null)
+        {
+            comboBox.showingProperty().addListener(showingMetrics);
+            comboBox.visibleRowCountProperty().addListener(visibleRowCountMetrics);
+        }
+        else if (this.metricsListener != null && metricsListener == null)
+        {
+            comboBox.showingProperty().removeListener(showingMetrics);
+            comboBox.visibleRowCountProperty().removeListener(visibleRowCountMetrics);
+        }
+        this.metricsListener = metricsListener;
+        if (valuesProvider != null)
+        {
+            valuesProvider.setMetricsListener(metricsListener);
+        }
+    }
+
     @VisibleForTesting
-    ComboBox<String> getComboBox()
+    ComboBox<T> getComboBox()
     {
         return comboBox;
     }
 
-    private static String foldAccentMarks(final String accentString)
+    private void showSuggestions(final SuggestionQuery query, final SuggestionPage<T> page)
+    {
+        List<T> list = page.getItems();
+        String text = comboBox.getEditor().getText();
+        int caretPosition = comboBox.getEditor().getCaretPosition();
+
+        boolean resizeInPlace = (isFixedCellSizeMode() || query == refreshQuery) && comboBox.isShowing()
+            && getPopupList() != null;
+        if (!resizeInPlace)
+        {
+            comboBox.hide();
+        }
+        int visibleRowCount = comboBox.getVisibleRowCount();
+        comboBox.setVisibleRowCount(Math.min(list.size(), VISIBLE_ROW_COUNT));
+        matchedItems.setPage(page);
+
+        comboBox.getEditor().positionCaret(caretPosition);
+
+        // show combobox as long as:
+        // * there is at least one match
+        // * the textfield as at least one character
+        // * the user has not selected an item
+        boolean showPopup = !list.isEmpty() && !text.isEmpty()
+            && comboBox.getSelectionModel().getSelectedItem() == null;
+        if (resizeInPlace)
+        {
+            if (!showPopup)
+            {
+                comboBox.hide();
+            }
+            else if (visibleRowCount != comboBox.getVisibleRowCount())
+            {
+                // the popup window follows the size of its content
+                ListView<T> listView = getPopupList();
+                listView.resize(listView.getWidth(), listView.prefHeight(listView.getWidth()));
+            }
+        }
+        else if (showPopup)
+        {
+            PopupShowEvent event = FlightRecorderEvents.beginPopupShow();
+            comboBox.show();
+            if (event != null && event.shouldCommit())
+            {
+                event.itemCount = list.size();
+                event.visibleRowCount = comboBox.getVisibleRowCount();
+                event.commit();
+            }
+        }
+
+        QueryEvent event = queryEvent;
+        if (event != null)
+        {
+            queryEvent = null;
+            if (event.shouldCommit())
+            {
+                event.resultSize = list.size();
+                event.hasMore = page.hasMore();
+                event.commit();
+            }
+        }
+
+        AutoCompleteMetricsListener metrics = metricsListener;
+        if (metrics != null)
+        {
+            metrics.suggestionsShown(System.nanoTime() - querySubmittedAt);
+        }
+    }
+
+    private void recordSelection()
+    {
+        selectionPending = false;
+        int selectedIndex = comboBox.getSelectionModel().getSelectedIndex();
+        int[] valueIndexes = matchedItems.getPage().getValueIndexes();
+        if (valueIndexes == null || selectedIndex < 0 || selectedIndex >= valueIndexes.length)
+        {
+            return;
+        }
+
+        getUsageStatistics().record(valueIndexes[selectedIndex]);
+        if (usageStatisticsFile != null)
+        {
+            usageStatistics.flush(usageStatisticsFile);
+        }
+    }
+
+    /**
+     * A combo box whose skin is a {@link DeferredComboBoxSkin} until focus is
+     * first requested, which is how both the mouse and keyboard traversal focus a
+     * control. The default skin is installed before the focus moves, so it sees
+     * the focus change like any other.
+     */
+    private class DeferredSkinComboBox extends ComboBox<T>
+    {
+        private boolean focusRequested;
+
+        DeferredSkinComboBox(final ObservableList<T> items)
+        {
+            super(items);
+        }
+
+        @Override
+        protected Skin<?> createDefaultSkin()
+        {
+            return deferSkin && !focusRequested ? new DeferredComboBoxSkin<>(this) : super.createDefaultSkin();
+        }
+
+        @Override
+        public void requestFocus()
+        {
+            focusRequested = true;
+            installDefaultSkin();
+            super.requestFocus();
+        }
+
+        void installDefaultSkin()
+        {
+            Skin<?> skin = getSkin();
+            if (skin instanceof DeferredComboBoxSkin)
+            {
+                // the default skin takes over the children in its constructor
+                skin.dispose();
+                setSkin(super.createDefaultSkin());
+            }
+        }
+    }
+
+    /**
+     * Shows the key of a suggestion, like the default cells of the combo box.
+     */
+    private class KeyListCell extends ListCell<T>
     {
-        StringBuilder stringBuilder = new StringBuilder();
+        @Override
+        protected void updateItem(T item, boolean empty)
+        {
+            super.updateItem(item, empty);
+            setText(empty || item == null ? null : keyExtractor.apply(item));
+        }
+    }
 
-        for (char c : accentString.toCharArray())
+    private static boolean areStrings(final List<?> values)
+    {
+        for (Object value : values)
         {
-            boolean matchedAccent = false;
-            for (Map.Entry<Character, Character> entry : accentMap.entrySet())
+            if (!(value instanceof String))
             {
-                if (entry.getKey().equals(c))
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Displays values by their key and turns typed text back into the value with
+     * that key. The text is usually committed with a suggestion selected, so that
+     * one is tried first; otherwise values held in memory are looked up by the
+     * keys extracted up front, whether or not they are on the current page, and
+     * the suggestions of custom providers by running the key extractor over them.
+     * Text that is no key is committed as it is if the values are strings that
+     * are their own keys, and as null otherwise.
+     */
+    private class KeyConverter extends StringConverter<T>
+    {
+        @Override
+        public String toString(T value)
+        {
+            return value == null ? "" : keyExtractor.apply(value);
+        }
+
+        @Override
+        public T fromString(String text)
+        {
+            T selected = comboBox.getSelectionModel().getSelectedItem();
+            if (selected != null && Objects.equals(keyExtractor.apply(selected), text))
+            {
+                return selected;
+            }
+
+            if (valuesProvider != null)
+            {
+                int index = valuesProvider.indexOfKey(text);
+                if (index >= 0)
                 {
-                    if (Character.isUpperCase(c))
-                    {
-                        stringBuilder.append(Character.toUpperCase(accentMap.get(c)));
-                    }
-                    else
-                    {
-                        stringBuilder.append(accentMap.get(c));
-                    }
-                    matchedAccent = true;
-                    break;
+                    return valuesProvider.getValues().get(index);
                 }
             }
-
-            if (!matchedAccent)
+            else
             {
-                stringBuilder.append(c);
+                for (T item : matchedItems.getPage().getItems())
+                {
+                    if (Objects.equals(keyExtractor.apply(item), text))
+                    {
+                        return item;
+                    }
+                }
             }
+            return textIsValue ? textAsValue(text) : null;
         }
 
-        return stringBuilder.toString();
-    }
-
-    public static final Map<Character, Character> accentMap;
-
-    static
-    {
-        accentMap = ImmutableMap.<Character, Character>builder()
-            .put('ẚ', 'a')
-            .put('Á', 'a')
-            .put('á', 'a')
-            .put('À', 'a')
-            .put('à', 'a')
-            .put('Ă', 'a')
-            .put('ă', 'a')
-            .put('Ắ', 'a')
-            .put('ắ', 'a')
-            .put('Ằ', 'a')
-            .put('ằ', 'a')
-            .put('Ẵ', 'a')
-            .put('ẵ', 'a')
-            .put('Ẳ', 'a')
-            .put('ẳ', 'a')
-            .put('Â', 'a')
-            .put('â', 'a')
-            .put('Ấ', 'a')
-            .put('ấ', 'a')
-            .put('Ầ', 'a')
-            .put('ầ', 'a')
-            .put('Ẫ', 'a')
-            .put('ẫ', 'a')
-            .put('Ẩ', 'a')
-            .put('ẩ', 'a')
-            .put('Ǎ', 'a')
-            .put('ǎ', 'a')
-            .put('Å', 'a')
-            .put('å', 'a')
-            .put('Ǻ', 'a')
-            .put('ǻ', 'a')
-            .put('Ä', 'a')
-            .put('ä', 'a')
-            .put('Ǟ', 'a')
-            .put('ǟ', 'a')
-            .put('Ã', 'a')
-            .put('ã', 'a')
-            .put('Ȧ', 'a')
-            .put('ȧ', 'a')
-            .put('Ǡ', 'a')
-            .put('ǡ', 'a')
-            .put('Ą', 'a')
-            .put('ą', 'a')
-            .put('Ā', 'a')
-            .put('ā', 'a')
-            .put('Ả', 'a')
-            .put('ả', 'a')
-            .put('Ȁ', 'a')
-            .put('ȁ', 'a')
-            .put('Ȃ', 'a')
-            .put('ȃ', 'a')
-            .put('Ạ', 'a')
-            .put('ạ', 'a')
-            .put('Ặ', 'a')
-            .put('ặ', 'a')
-            .put('Ậ', 'a')
-            .put('ậ', 'a')
-            .put('Ḁ', 'a')
-            .put('ḁ', 'a')
-            .put('Ⱥ', 'a')
-            .put('ⱥ', 'a')
-            .put('Ǽ', 'a')
-            .put('ǽ', 'a')
-            .put('Ǣ', 'a')
-            .put('ǣ', 'a')
-            .put('Ḃ', 'b')
-            .put('ḃ', 'b')
-            .put('Ḅ', 'b')
-            .put('ḅ', 'b')
-            .put('Ḇ', 'b')
-            .put('ḇ', 'b')
-            .put('Ƀ', 'b')
-            .put('ƀ', 'b')
-            .put('ᵬ', 'b')
-            .put('Ɓ', 'b')
-            .put('ɓ', 'b')
-            .put('Ƃ', 'b')
-            .put('ƃ', 'b')
-            .put('Ć', 'c')
-            .put('ć', 'c')
-            .put('Ĉ', 'c')
-            .put('ĉ', 'c')
-            .put('Č', 'c')
-            .put('č', 'c')
-            .put('Ċ', 'c')
-            .put('ċ', 'c')
-            .put('Ç', 'c')
-            .put('ç', 'c')
-            .put('Ḉ', 'c')
-            .put('ḉ', 'c')
-            .put('Ȼ', 'c')
-            .put('ȼ', 'c')
-            .put('Ƈ', 'c')
-            .put('ƈ', 'c')
-            .put('ɕ', 'c')
-            .put('Ď', 'd')
-            .put('ď', 'd')
-            .put('Ḋ', 'd')
-            .put('ḋ', 'd')
-            .put('Ḑ', 'd')
-            .put('ḑ', 'd')
-            .put('Ḍ', 'd')
-            .put('ḍ', 'd')
-            .put('Ḓ', 'd')
-            .put('ḓ', 'd')
-            .put('Ḏ', 'd')
-            .put('ḏ', 'd')
-            .put('Đ', 'd')
-            .put('đ', 'd')
-            .put('ᵭ', 'd')
-            .put('Ɖ', 'd')
-            .put('ɖ', 'd')
-            .put('Ɗ', 'd')
-            .put('ɗ', 'd')
-            .put('Ƌ', 'd')
-            .put('ƌ', 'd')
-            .put('ȡ', 'd')
-            .put('ð', 'd')
-            .put('É', 'e')
-            .put('Ə', 'e')
-            .put('Ǝ', 'e')
-            .put('ǝ', 'e')
-            .put('é', 'e')
-            .put('È', 'e')
-            .put('è', 'e')
-            .put('Ĕ', 'e')
-            .put('ĕ', 'e')
-            .put('Ê', 'e')
-            .put('ê', 'e')
-            .put('Ế', 'e')
-            .put('ế', 'e')
-            .put('Ề', 'e')
-            .put('ề', 'e')
-            .put('Ễ', 'e')
-            .put('ễ', 'e')
-            .put('Ể', 'e')
-            .put('ể', 'e')
-            .put('Ě', 'e')
-            .put('ě', 'e')
-            .put('Ë', 'e')
-            .put('ë', 'e')
-            .put('Ẽ', 'e')
-            .put('ẽ', 'e')
-            .put('Ė', 'e')
-            .put('ė', 'e')
-            .put('Ȩ', 'e')
-            .put('ȩ', 'e')
-            .put('Ḝ', 'e')
-            .put('ḝ', 'e')
-            .put('Ę', 'e')
-            .put('ę', 'e')
-            .put('Ē', 'e')
-            .put('ē', 'e')
-            .put('Ḗ', 'e')
-            .put('ḗ', 'e')
-            .put('Ḕ', 'e')
-            .put('ḕ', 'e')
-            .put('Ẻ', 'e')
-            .put('ẻ', 'e')
-            .put('Ȅ', 'e')
-            .put('ȅ', 'e')
-            .put('Ȇ', 'e')
-            .put('ȇ', 'e')
-            .put('Ẹ', 'e')
-            .put('ẹ', 'e')
-            .put('Ệ', 'e')
-            .put('ệ', 'e')
-            .put('Ḙ', 'e')
-            .put('ḙ', 'e')
-            .put('Ḛ', 'e')
-            .put('ḛ', 'e')
-            .put('Ɇ', 'e')
-            .put('ɇ', 'e')
-            .put('ɚ', 'e')
-            .put('ɝ', 'e')
-            .put('Ḟ', 'f')
-            .put('ḟ', 'f')
-            .put('ᵮ', 'f')
-            .put('Ƒ', 'f')
-            .put('ƒ', 'f')
-            .put('Ǵ', 'g')
-            .put('ǵ', 'g')
-            .put('Ğ', 'g')
-            .put('ğ', 'g')
-            .put('Ĝ', 'g')
-            .put('ĝ', 'g')
-            .put('Ǧ', 'g')
-            .put('ǧ', 'g')
-            .put('Ġ', 'g')
-            .put('ġ', 'g')
-            .put('Ģ', 'g')
-            .put('ģ', 'g')
-            .put('Ḡ', 'g')
-            .put('ḡ', 'g')
-            .put('Ǥ', 'g')
-            .put('ǥ', 'g')
-            .put('Ɠ', 'g')
-            .put('ɠ', 'g')
-            .put('Ĥ', 'h')
-            .put('ĥ', 'h')
-            .put('Ȟ', 'h')
-            .put('ȟ', 'h')
-            .put('Ḧ', 'h')
-            .put('ḧ', 'h')
-            .put('Ḣ', 'h')
-            .put('ḣ', 'h')
-            .put('Ḩ', 'h')
-            .put('ḩ', 'h')
-            .put('Ḥ', 'h')
-            .put('ḥ', 'h')
-            .put('Ḫ', 'h')
-            .put('ḫ', 'h')
-            .put('̱', 'h')
-            .put('ẖ', 'h')
-            .put('Ħ', 'h')
-            .put('ħ', 'h')
-            .put('Ⱨ', 'h')
-            .put('ⱨ', 'h')
-            .put('Í', 'i')
-            .put('í', 'i')
-            .put('Ì', 'i')
-            .put('ì', 'i')
-            .put('Ĭ', 'i')
-            .put('ĭ', 'i')
-            .put('Î', 'i')
-            .put('î', 'i')
-            .put('Ǐ', 'i')
-            .put('ǐ', 'i')
-            .put('Ï', 'i')
-            .put('ï', 'i')
-            .put('Ḯ', 'i')
-            .put('ḯ', 'i')
-            .put('Ĩ', 'i')
-            .put('ĩ', 'i')
-            .put('Į', 'i')
-            .put('į', 'i')
-            .put('Ī', 'i')
-            .put('ī', 'i')
-            .put('Ỉ', 'i')
-            .put('ỉ', 'i')
-            .put('Ȉ', 'i')
-            .put('ȉ', 'i')
-            .put('Ȋ', 'i')
-            .put('ȋ', 'i')
-            .put('Ị', 'i')
-            .put('ị', 'i')
-            .put('Ḭ', 'i')
-            .put('ḭ', 'i')
-            .put('ı', 'i')
-            .put('Ɨ', 'i')
-            .put('ɨ', 'i')
-            .put('Ĵ', 'j')
-            .put('ĵ', 'j')
-            .put('̌', 'j')
-            .put('ǰ', 'j')
-            .put('ȷ', 'j')
-            .put('Ɉ', 'j')
-            .put('ɉ', 'j')
-            .put('ʝ', 'j')
-            .put('ɟ', 'j')
-            .put('ʄ', 'j')
-            .put('Ḱ', 'k')
-            .put('ḱ', 'k')
-            .put('Ǩ', 'k')
-            .put('ǩ', 'k')
-            .put('Ķ', 'k')
-            .put('ķ', 'k')
-            .put('Ḳ', 'k')
-            .put('ḳ', 'k')
-            .put('Ḵ', 'k')
-            .put('ḵ', 'k')
-            .put('Ƙ', 'k')
-            .put('ƙ', 'k')
-            .put('Ⱪ', 'k')
-            .put('ⱪ', 'k')
-            .put('Ĺ', 'a')
-            .put('ĺ', 'l')
-            .put('Ľ', 'l')
-            .put('ľ', 'l')
-            .put('Ļ', 'l')
-            .put('ļ', 'l')
-            .put('Ḷ', 'l')
-            .put('ḷ', 'l')
-            .put('Ḹ', 'l')
-            .put('ḹ', 'l')
-            .put('Ḽ', 'l')
-            .put('ḽ', 'l')
-            .put('Ḻ', 'l')
-            .put('ḻ', 'l')
-            .put('Ł', 'l')
-            .put('ł', 'l')
-            .put('Ŀ', 'l')
-            .put('ŀ', 'l')
-            .put('Ƚ', 'l')
-            .put('ƚ', 'l')
-            .put('Ⱡ', 'l')
-            .put('ⱡ', 'l')
-            .put('Ɫ', 'l')
-            .put('ɫ', 'l')
-            .put('ɬ', 'l')
-            .put('ɭ', 'l')
-            .put('ȴ', 'l')
-            .put('Ḿ', 'm')
-            .put('ḿ', 'm')
-            .put('Ṁ', 'm')
-            .put('ṁ', 'm')
-            .put('Ṃ', 'm')
-            .put('ṃ', 'm')
-            .put('ɱ', 'm')
-            .put('Ń', 'n')
-            .put('ń', 'n')
-            .put('Ǹ', 'n')
-            .put('ǹ', 'n')
-            .put('Ň', 'n')
-            .put('ň', 'n')
-            .put('Ñ', 'n')
-            .put('ñ', 'n')
-            .put('Ṅ', 'n')
-            .put('ṅ', 'n')
-            .put('Ņ', 'n')
-            .put('ņ', 'n')
-            .put('Ṇ', 'n')
-            .put('ṇ', 'n')
-            .put('Ṋ', 'n')
-            .put('ṋ', 'n')
-            .put('Ṉ', 'n')
-            .put('ṉ', 'n')
-            .put('Ɲ', 'n')
-            .put('ɲ', 'n')
-            .put('Ƞ', 'n')
-            .put('ƞ', 'n')
-            .put('ɳ', 'n')
-            .put('ȵ', 'n')
-            .put('̈', 'n')
-            .put('Ó', 'o')
-            .put('ó', 'o')
-            .put('Ò', 'o')
-            .put('ò', 'o')
-            .put('Ŏ', 'o')
-            .put('ŏ', 'o')
-            .put('Ô', 'o')
-            .put('ô', 'o')
-            .put('Ố', 'o')
-            .put('ố', 'o')
-            .put('Ồ', 'o')
-            .put('ồ', 'o')
-            .put('Ỗ', 'o')
-            .put('ỗ', 'o')
-            .put('Ổ', 'o')
-            .put('ổ', 'o')
-            .put('Ǒ', 'o')
-            .put('ǒ', 'o')
-            .put('Ö', 'o')
-            .put('ö', 'o')
-            .put('Ȫ', 'o')
-            .put('ȫ', 'o')
-            .put('Ő', 'o')
-            .put('ő', 'o')
-            .put('Õ', 'o')
-            .put('õ', 'o')
-            .put('Ṍ', 'o')
-            .put('ṍ', 'o')
-            .put('Ṏ', 'o')
-            .put('ṏ', 'o')
-            .put('Ȭ', 'o')
-            .put('ȭ', 'o')
-            .put('Ȯ', 'o')
-            .put('ȯ', 'o')
-            .put('Ȱ', 'o')
-            .put('ȱ', 'o')
-            .put('Ø', 'o')
-            .put('ø', 'o')
-            .put('Ǿ', 'o')
-            .put('ǿ', 'o')
-            .put('Ǫ', 'o')
-            .put('ǫ', 'o')
-            .put('Ǭ', 'o')
-            .put('ǭ', 'o')
-            .put('Ō', 'o')
-            .put('ō', 'o')
-            .put('Ṓ', 'o')
-            .put('ṓ', 'o')
-            .put('Ṑ', 'o')
-            .put('ṑ', 'o')
-            .put('Ỏ', 'o')
-            .put('ỏ', 'o')
-            .put('Ȍ', 'o')
-            .put('ȍ', 'o')
-            .put('Ȏ', 'o')
-            .put('ȏ', 'o')
-            .put('Ơ', 'o')
-            .put('ơ', 'o')
-            .put('Ớ', 'o')
-            .put('ớ', 'o')
-            .put('Ờ', 'o')
-            .put('ờ', 'o')
-            .put('Ỡ', 'o')
-            .put('ỡ', 'o')
-            .put('Ở', 'o')
-            .put('ở', 'o')
-            .put('Ợ', 'o')
-            .put('ợ', 'o')
-            .put('Ọ', 'o')
-            .put('ọ', 'o')
-            .put('Ộ', 'o')
-            .put('ộ', 'o')
-            .put('Ɵ', 'o')
-            .put('ɵ', 'o')
-            .put('Ṕ', 'p')
-            .put('ṕ', 'p')
-            .put('Ṗ', 'p')
-            .put('ṗ', 'p')
-            .put('Ᵽ', 'p')
-            .put('Ƥ', 'p')
-            .put('ƥ', 'p')
-            .put('ʠ', 'q')
-            .put('Ɋ', 'q')
-            .put('ɋ', 'q')
-            .put('Ŕ', 'r')
-            .put('ŕ', 'r')
-            .put('Ř', 'r')
-            .put('ř', 'r')
-            .put('Ṙ', 'r')
-            .put('ṙ', 'r')
-            .put('Ŗ', 'r')
-            .put('ŗ', 'r')
-            .put('Ȑ', 'r')
-            .put('ȑ', 'r')
-            .put('Ȓ', 'r')
-            .put('ȓ', 'r')
-            .put('Ṛ', 'r')
-            .put('ṛ', 'r')
-            .put('Ṝ', 'r')
-            .put('ṝ', 'r')
-            .put('Ṟ', 'r')
-            .put('ṟ', 'r')
-            .put('Ɍ', 'r')
-            .put('ɍ', 'r')
-            .put('ᵲ', 'r')
-            .put('ɼ', 'r')
-            .put('Ɽ', 'r')
-            .put('ɽ', 'r')
-            .put('ɾ', 'r')
-            .put('ᵳ', 'r')
-            .put('ß', 's')
-            .put('Ś', 's')
-            .put('ś', 's')
-            .put('Ṥ', 's')
-            .put('ṥ', 's')
-            .put('Ŝ', 's')
-            .put('ŝ', 's')
-            .put('Š', 's')
-            .put('š', 's')
-            .put('Ṧ', 's')
-            .put('ṧ', 's')
-            .put('Ṡ', 's')
-            .put('ṡ', 's')
-            .put('ẛ', 's')
-            .put('Ş', 's')
-            .put('ş', 's')
-            .put('Ṣ', 's')
-            .put('ṣ', 's')
-            .put('Ṩ', 's')
-            .put('ṩ', 's')
-            .put('Ș', 's')
-            .put('ș', 's')
-            .put('ʂ', 's')
-            .put('̩', 's')
-            .put('Þ', 't')
-            .put('þ', 't')
-            .put('Ť', 't')
-            .put('ť', 't')
-            .put('ẗ', 't')
-            .put('Ṫ', 't')
-            .put('ṫ', 't')
-            .put('Ţ', 't')
-            .put('ţ', 't')
-            .put('Ṭ', 't')
-            .put('ṭ', 't')
-            .put('Ț', 't')
-            .put('ț', 't')
-            .put('Ṱ', 't')
-            .put('ṱ', 't')
-            .put('Ṯ', 't')
-            .put('ṯ', 't')
-            .put('Ŧ', 't')
-            .put('ŧ', 't')
-            .put('Ⱦ', 't')
-            .put('ⱦ', 't')
-            .put('ᵵ', 't')
-            .put('ƫ', 't')
-            .put('Ƭ', 't')
-            .put('ƭ', 't')
-            .put('Ʈ', 't')
-            .put('ʈ', 't')
-            .put('ȶ', 't')
-            .put('Ú', 'u')
-            .put('ú', 'u')
-            .put('Ù', 'u')
-            .put('ù', 'u')
-            .put('Ŭ', 'u')
-            .put('ŭ', 'u')
-            .put('Û', 'u')
-            .put('û', 'u')
-            .put('Ǔ', 'u')
-            .put('ǔ', 'u')
-            .put('Ů', 'u')
-            .put('ů', 'u')
-            .put('Ü', 'u')
-            .put('ü', 'u')
-            .put('Ǘ', 'u')
-            .put('ǘ', 'u')
-            .put('Ǜ', 'u')
-            .put('ǜ', 'u')
-            .put('Ǚ', 'u')
-            .put('ǚ', 'u')
-            .put('Ǖ', 'u')
-            .put('ǖ', 'u')
-            .put('Ű', 'u')
-            .put('ű', 'u')
-            .put('Ũ', 'u')
-            .put('ũ', 'u')
-            .put('Ṹ', 'u')
-            .put('ṹ', 'u')
-            .put('Ų', 'u')
-            .put('ų', 'u')
-            .put('Ū', 'u')
-            .put('ū', 'u')
-            .put('Ṻ', 'u')
-            .put('ṻ', 'u')
-            .put('Ủ', 'u')
-            .put('ủ', 'u')
-            .put('Ȕ', 'u')
-            .put('ȕ', 'u')
-            .put('Ȗ', 'u')
-            .put('ȗ', 'u')
-            .put('Ư', 'u')
-            .put('ư', 'u')
-            .put('Ứ', 'u')
-            .put('ứ', 'u')
-            .put('Ừ', 'u')
-            .put('ừ', 'u')
-            .put('Ữ', 'u')
-            .put('ữ', 'u')
-            .put('Ử', 'u')
-            .put('ử', 'u')
-            .put('Ự', 'u')
-            .put('ự', 'u')
-            .put('Ụ', 'u')
-            .put('ụ', 'u')
-            .put('Ṳ', 'u')
-            .put('ṳ', 'u')
-            .put('Ṷ', 'u')
-            .put('ṷ', 'u')
-            .put('Ṵ', 'u')
-            .put('ṵ', 'u')
-            .put('Ʉ', 'u')
-            .put('ʉ', 'u')
-            .put('Ṽ', 'v')
-            .put('ṽ', 'v')
-            .put('Ṿ', 'v')
-            .put('ṿ', 'v')
-            .put('Ʋ', 'v')
-            .put('ʋ', 'v')
-            .put('Ẃ', 'w')
-            .put('ẃ', 'w')
-            .put('Ẁ', 'w')
-            .put('ẁ', 'w')
-            .put('Ŵ', 'w')
-            .put('ŵ', 'w')
-            .put('̊', 'w')
-            .put('ẘ', 'w')
-            .put('Ẅ', 'w')
-            .put('ẅ', 'w')
-            .put('Ẇ', 'w')
-            .put('ẇ', 'w')
-            .put('Ẉ', 'w')
-            .put('ẉ', 'w')
-            .put('Ẍ', 'x')
-            .put('ẍ', 'x')
-            .put('Ẋ', 'x')
-            .put('ẋ', 'x')
-            .put('Ý', 'y')
-            .put('ý', 'y')
-            .put('Ỳ', 'y')
-            .put('ỳ', 'y')
-            .put('Ŷ', 'y')
-            .put('ŷ', 'y')
-            .put('ẙ', 'y')
-            .put('Ÿ', 'y')
-            .put('ÿ', 'y')
-            .put('Ỹ', 'y')
-            .put('ỹ', 'y')
-            .put('Ẏ', 'y')
-            .put('ẏ', 'y')
-            .put('Ȳ', 'y')
-            .put('ȳ', 'y')
-            .put('Ỷ', 'y')
-            .put('ỷ', 'y')
-            .put('Ỵ', 'y')
-            .put('ỵ', 'y')
-            .put('ʏ', 'y')
-            .put('Ɏ', 'y')
-            .put('ɏ', 'y')
-            .put('Ƴ', 'y')
-            .put('ƴ', 'y')
-            .put('Ź', 'z')
-            .put('ź', 'z')
-            .put('Ẑ', 'z')
-            .put('ẑ', 'z')
-            .put('Ž', 'z')
-            .put('ž', 'z')
-            .put('Ż', 'z')
-            .put('ż', 'z')
-            .put('Ẓ', 'z')
-            .put('ẓ', 'z')
-            .put('Ẕ', 'z')
-            .put('ẕ', 'z')
-            .put('Ƶ', 'z')
-            .put('ƶ', 'z')
-            .put('Ȥ', 'z')
-            .put('ȥ', 'z')
-            .put('ʐ', 'z')
-            .put('ʑ', 'z')
-            .put('Ⱬ', 'z')
-            .put('ⱬ', 'z')
-            .put('Ǯ', 'z')
-            .put('ǯ', 'z')
-            .put('ƺ', 'z')
-            .build();
+        @SuppressWarnings("unchecked")
+        private T textAsValue(String text)
+        {
+            return (T) text;
+        }
     }
+
+    /**
+     * The base letters of accented letters, which {@link KeyFolding} folds accent
+     * marks with.
+     */
+    public static final Map<Character, Character> accentMap = AccentMap.BASE_LETTERS;
 }
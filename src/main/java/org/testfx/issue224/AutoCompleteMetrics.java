@@ -0,0 +1,250 @@
+package org.testfx.issue224;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Aggregates the measurements of one or more controls into histograms, for
+ * example to find out why typing feels sluggish:
+ * <pre>
+ * AutoCompleteMetrics metrics = new AutoCompleteMetrics();
+ * autoCompleteComboBox.setMetricsListener(metrics);
+ * metrics.register("countries");
+ * </pre>
+ * Recording allocates nothing. The attributes can be read from any thread, for
+ * example by a JMX console, while the JavaFX application thread records.
+ */
+public class AutoCompleteMetrics implements AutoCompleteMetricsListener, AutoCompleteMetricsMXBean
+{
+    private final LogLinearHistogram queryLatency = new LogLinearHistogram();
+    private final LogLinearHistogram filterTime = new LogLinearHistogram();
+    private final LogLinearHistogram foldTime = new LogLinearHistogram();
+
+    private volatile long candidatesScanned;
+    private volatile long candidatesMatched;
+    private volatile long narrowedCount;
+    private volatile long keyNormalizationCount;
+    private volatile long keyNormalizationNanos;
+    private volatile long popupShowCount;
+    private volatile long popupHideCount;
+    private volatile long popupResizeCount;
+
+    private ObjectName objectName;
+
+    @Override
+    public void queryNormalized(long nanos)
+    {
+        foldTime.record(nanos);
+    }
+
+    @Override
+    public void keysNormalized(int keyCount, long nanos)
+    {
+        keyNormalizationCount++;
+        keyNormalizationNanos += nanos;
+    }
+
+    @Override
+    public void candidatesFiltered(long nanos, int scanned, int matched, boolean narrowed)
+    {
+        filterTime.record(nanos);
+        candidatesScanned += scanned;
+        candidatesMatched += matched;
+        if (narrowed)
+        {
+            narrowedCount++;
+        }
+    }
+
+    @Override
+    public void suggestionsShown(long nanos)
+    {
+        queryLatency.record(nanos);
+    }
+
+    @Override
+    public void popupShown()
+    {
+        popupShowCount++;
+    }
+
+    @Override
+    public void popupHidden()
+    {
+        popupHideCount++;
+    }
+
+    @Override
+    public void popupResized()
+    {
+        popupResizeCount++;
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server as
+     * {@code org.testfx.issue224:type=AutoCompleteMetrics,name=<name>}.
+     */
+    public synchronized ObjectName register(String name)
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try
+        {
+            ObjectName newName = new ObjectName("org.testfx.issue224:type=AutoCompleteMetrics,name="
+                + ObjectName.quote(name));
+            server.registerMBean(this, newName);
+            unregister();
+            objectName = newName;
+            return newName;
+        }
+        catch (JMException e)
+        {
+            throw new IllegalStateException("Cannot register metrics " + name, e);
+        }
+    }
+
+    public synchronized void unregister()
+    {
+        if (objectName == null)
+        {
+            return;
+        }
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        }
+        catch (JMException e)
+        {
+            // already unregistered by someone else
+        }
+        objectName = null;
+    }
+
+    @Override
+    public long getQueryCount()
+    {
+        return queryLatency.getTotalCount();
+    }
+
+    @Override
+    public double getQueryLatencyMeanMicros()
+    {
+        return queryLatency.getMean() / 1e3;
+    }
+
+    @Override
+    public double getQueryLatencyP50Micros()
+    {
+        return queryLatency.getValueAtPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getQueryLatencyP99Micros()
+    {
+        return queryLatency.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getQueryLatencyMaxMicros()
+    {
+        return queryLatency.getMax() / 1e3;
+    }
+
+    @Override
+    public double getFilterTimeP50Micros()
+    {
+        return filterTime.getValueAtPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getFilterTimeP99Micros()
+    {
+        return filterTime.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getFoldTimeP50Micros()
+    {
+        return foldTime.getValueAtPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getFoldTimeP99Micros()
+    {
+        return foldTime.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public long getCandidatesScanned()
+    {
+        return candidatesScanned;
+    }
+
+    @Override
+    public long getCandidatesMatched()
+    {
+        return candidatesMatched;
+    }
+
+    @Override
+    public long getKeyNormalizationCount()
+    {
+        return keyNormalizationCount;
+    }
+
+    @Override
+    public double getKeyNormalizationMillis()
+    {
+        return keyNormalizationNanos / 1e6;
+    }
+
+    /**
+     * The share of filtered queries that only scanned the matches of the
+     * previous query.
+     */
+    @Override
+    public double getNarrowingHitRate()
+    {
+        long count = filterTime.getTotalCount();
+        return count == 0 ? 0 : (double) narrowedCount / count;
+    }
+
+    @Override
+    public long getPopupShowCount()
+    {
+        return popupShowCount;
+    }
+
+    @Override
+    public long getPopupHideCount()
+    {
+        return popupHideCount;
+    }
+
+    @Override
+    public long getPopupResizeCount()
+    {
+        return popupResizeCount;
+    }
+
+    /**
+     * Clears all measurements. Should be called on the JavaFX application thread;
+     * from a JMX console, measurements recorded concurrently may survive.
+     */
+    @Override
+    public void reset()
+    {
+        queryLatency.reset();
+        filterTime.reset();
+        foldTime.reset();
+        candidatesScanned = 0;
+        candidatesMatched = 0;
+        narrowedCount = 0;
+        keyNormalizationCount = 0;
+        keyNormalizationNanos = 0;
+        popupShowCount = 0;
+        popupHideCount = 0;
+        popupResizeCount = 0;
+    }
+}
@@ -0,0 +1,61 @@
+package org.testfx.issue224;
+
+/**
+ * Receives measurements from the hot paths of an {@link AutoCompleteComboBox}.
+ * Nothing is measured unless a listener is set, see
+ * {@link AutoCompleteComboBox#setMetricsListener(AutoCompleteMetricsListener)}.
+ * <p>
+ * All methods are called on the JavaFX application thread, in the middle of key
+ * handling, and must return quickly. {@link AutoCompleteMetrics} aggregates them
+ * into histograms and exposes those over JMX.
+ */
+public interface AutoCompleteMetricsListener
+{
+    /**
+     * The typed text was normalized (accent folded and lower-cased).
+     */
+    default void queryNormalized(long nanos)
+    {
+    }
+
+    /**
+     * The keys of all values were normalized for a new accent folding setting,
+     * which happens once per setting.
+     */
+    default void keysNormalized(int keyCount, long nanos)
+    {
+    }
+
+    /**
+     * The values held in memory were matched against a query. Narrowed is true if
+     * only the matches of the previous query had to be scanned because the query
+     * extends it.
+     */
+    default void candidatesFiltered(long nanos, int scanned, int matched, boolean narrowed)
+    {
+    }
+
+    /**
+     * The popup was updated with the suggestions for the typed text, the given
+     * time after the text was submitted. Covers providers answering
+     * asynchronously.
+     */
+    default void suggestionsShown(long nanos)
+    {
+    }
+
+    default void popupShown()
+    {
+    }
+
+    default void popupHidden()
+    {
+    }
+
+    /**
+     * The number of visible rows of the popup changed, so it is laid out again.
+     */
+    default void popupResized()
+    {
+    }
+}
@@ -0,0 +1,43 @@
+package org.testfx.issue224;
+
+/**
+ * The JMX view of {@link AutoCompleteMetrics}. Latencies are in microseconds.
+ */
+public interface AutoCompleteMetricsMXBean
+{
+    long getQueryCount();
+
+    double getQueryLatencyMeanMicros();
+
+    double getQueryLatencyP50Micros();
+
+    double getQueryLatencyP99Micros();
+
+    double getQueryLatencyMaxMicros();
+
+    double getFilterTimeP50Micros();
+
+    double getFilterTimeP99Micros();
+
+    double getFoldTimeP50Micros();
+
+    double getFoldTimeP99Micros();
+
+    long getCandidatesScanned();
+
+    long getCandidatesMatched();
+
+    long getKeyNormalizationCount();
+
+    double getKeyNormalizationMillis();
+
+    double getNarrowingHitRate();
+
+    long getPopupShowCount();
+
+    long getPopupHideCount();
+
+    long getPopupResizeCount();
+
+    void reset();
+}
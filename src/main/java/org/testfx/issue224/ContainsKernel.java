@@ -0,0 +1,45 @@
+package org.testfx.issue224;
+
+/**
+ * Finds a byte string in a range of a byte array; the inner loop of matching in
+ * {@link AutoCompleteComboBox.AutoCompleteMode#CONTAINS} mode over a
+ * {@link Latin1KeyArena}.
+ * <p>
+ * The only implementation uses the Vector API and is part of the multi-release
+ * jar for Java 17 and later ({@code src/main/java17}). It is only used if the
+ * {@code jdk.incubator.vector} module is added to the runtime
+ * ({@code --add-modules jdk.incubator.vector}) and the system property
+ * {@code org.testfx.issue224.vectorKernel} is not {@code false}; otherwise keys
+ * are matched one by one with {@link String#indexOf(String)}.
+ */
+@FunctionalInterface
+interface ContainsKernel
+{
+    /**
+     * Returns the offset of the first occurrence of the needle in
+     * {@code haystack[from, to)}, or -1 if there is none.
+     */
+    int indexOf(byte[] haystack, int from, int to, byte[] needle);
+
+    /**
+     * Returns the vectorized kernel, or null if it is not available on this
+     * runtime or disabled.
+     */
+    static ContainsKernel load()
+    {
+        if (!Boolean.parseBoolean(System.getProperty("org.testfx.issue224.vectorKernel", "true")))
+        {
+            return null;
+        }
+        try
+        {
+            return (ContainsKernel) Class.forName("org.testfx.issue224.VectorContainsKernel")
+                .getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError e)
+        {
+            // before Java 17, or the incubator module was not added
+            return null;
+        }
+    }
+}
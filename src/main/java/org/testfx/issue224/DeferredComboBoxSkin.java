@@ -0,0 +1,111 @@
+package org.testfx.issue224;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringBinding;
+import javafx.event.EventHandler;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.SkinBase;
+import javafx.scene.control.TextField;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Text;
+
+/**
+ * A stand-in skin for an editable combo box that has not been focused yet. It
+ * draws the text of the value and the arrow with the style classes of the
+ * default skin, but creates neither the editor nor the list view and popup,
+ * which make up most of the nodes, memory and layout time of a combo box. The
+ * owner replaces it with the default skin before the combo box takes the focus.
+ * <p>
+ * The preferred width is the one of an editor with the default column count;
+ * unlike the default skin, the rows of the popup are not measured.
+ */
+final class DeferredComboBoxSkin<T> extends SkinBase<ComboBox<T>>
+{
+    private final Label display = new Label();
+
+    private final StackPane arrowButton = new StackPane();
+
+    private final StringBinding text;
+
+    private final EventHandler<MouseEvent> requestFocus = event -> getSkinnable().requestFocus();
+
+    DeferredComboBoxSkin(final ComboBox<T> comboBox)
+    {
+        super(comboBox);
+        text = Bindings.createStringBinding(() -> comboBox.getValue() == null ? comboBox.getPromptText()
+                : comboBox.getConverter().toString(comboBox.getValue()),
+            comboBox.valueProperty(), comboBox.converterProperty(), comboBox.promptTextProperty());
+        display.textProperty().bind(text);
+        display.getStyleClass().setAll("text-input", "text-field");
+
+        Region arrow = new Region();
+        arrow.getStyleClass().setAll("arrow");
+        arrowButton.getStyleClass().setAll("arrow-button");
+        arrowButton.getChildren().add(arrow);
+        arrowButton.setOnMousePressed(event ->
+        {
+            // the popup is only there once the default skin has been installed
+            comboBox.requestFocus();
+            comboBox.show();
+        });
+
+        getChildren().setAll(display, arrowButton);
+        comboBox.addEventHandler(MouseEvent.MOUSE_PRESSED, requestFocus);
+    }
+
+    /**
+     * Removes the nodes of this skin from the combo box, which has to happen
+     * before the default skin is created as it adds its nodes in its constructor.
+     */
+    @Override
+    public void dispose()
+    {
+        if (getSkinnable() == null)
+        {
+            return;
+        }
+        getSkinnable().removeEventHandler(MouseEvent.MOUSE_PRESSED, requestFocus);
+        getChildren().removeAll(display, arrowButton);
+        display.textProperty().unbind();
+        text.dispose();
+        super.dispose();
+    }
+
+    @Override
+    protected void layoutChildren(double x, double y, double width, double height)
+    {
+        double arrowWidth = arrowButton.prefWidth(-1);
+        display.resizeRelocate(x, y, Math.max(0, width - arrowWidth), height);
+        arrowButton.resizeRelocate(x + width - arrowWidth, y, arrowWidth, height);
+    }
+
+    @Override
+    protected double computeMinWidth(double height, double topInset, double rightInset, double bottomInset,
+                                     double leftInset)
+    {
+        return leftInset + display.minWidth(-1) + arrowButton.prefWidth(-1) + rightInset;
+    }
+
+    @Override
+    protected double computePrefWidth(double height, double topInset, double rightInset, double bottomInset,
+                                      double leftInset)
+    {
+        // what the editor of the default skin asks for
+        Text character = new Text("W");
+        character.setFont(display.getFont());
+        double editorWidth = display.snappedLeftInset()
+            + TextField.DEFAULT_PREF_COLUMN_COUNT * character.getLayoutBounds().getWidth()
+            + display.snappedRightInset();
+        return leftInset + Math.max(editorWidth, display.prefWidth(-1)) + arrowButton.prefWidth(-1) + rightInset;
+    }
+
+    @Override
+    protected double computePrefHeight(double width, double topInset, double rightInset, double bottomInset,
+                                       double leftInset)
+    {
+        return topInset + Math.max(display.prefHeight(-1), arrowButton.prefHeight(-1)) + bottomInset;
+    }
+}
@@ -0,0 +1,128 @@
+package org.testfx.issue224;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Matches queries against a UTF-8 file with one value per line, for vocabularies
+ * that are too large to keep in memory. Every lookup streams the file on the
+ * given executor and stops as soon as the page is full or the query is cancelled,
+ * so memory use is bounded by the page size rather than the file size.
+ */
+public class FileSuggestionProvider implements SuggestionProvider<String>
+{
+    /**
+     * Daemon threads shared by the providers created without an executor. Lookups
+     * block on reading the file, so they are kept off the common fork/join pool,
+     * whose few threads the rest of the application relies on for computation.
+     */
+    private static final ExecutorService LOOKUP_EXECUTOR = Executors.newCachedThreadPool(runnable ->
+    {
+        Thread thread = new Thread(runnable, "autocomplete-file-lookup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path file;
+
+    private final Executor executor;
+
+    public FileSuggestionProvider(final Path file)
+    {
+        this(file, LOOKUP_EXECUTOR);
+    }
+
+    public FileSuggestionProvider(final Path file, final Executor executor)
+    {
+        this.file = file;
+        this.executor = executor;
+    }
+
+    public Path getFile()
+    {
+        return file;
+    }
+
+    @Override
+    public CompletableFuture<SuggestionPage<String>> suggest(final SuggestionQuery query)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                return scan(query);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    private SuggestionPage<String> scan(final SuggestionQuery query) throws IOException
+    {
+        List<String> items = new ArrayList<>();
+        List<Integer> matchRanges = new ArrayList<>();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (query.isCancelled())
+                {
+                    throw new CancellationException(query.toString());
+                }
+                if (line.isEmpty())
+                {
+                    continue;
+                }
+                String normalizedLine = query.normalize(line);
+                int matchStart = query.indexIn(normalizedLine);
+                if (matchStart < 0)
+                {
+                    continue;
+                }
+                if (skipped < query.getOffset())
+                {
+                    skipped++;
+                }
+                else if (items.size() < query.getLimit())
+                {
+                    items.add(line);
+                    KeyFolding folding = query.getFolding();
+                    matchRanges.add(folding.toOriginalOffset(line, normalizedLine, matchStart, false));
+                    matchRanges.add(folding.toOriginalOffset(line, normalizedLine,
+                        matchStart + query.getText().length(), true));
+                }
+                else
+                {
+                    return page(items, matchRanges, true);
+                }
+            }
+        }
+        return page(items, matchRanges, false);
+    }
+
+    private static SuggestionPage<String> page(final List<String> items, final List<Integer> matchRanges,
+                                               final boolean hasMore)
+    {
+        int[] ranges = new int[matchRanges.size()];
+        for (int i = 0; i < ranges.length; i++)
+        {
+            ranges[i] = matchRanges.get(i);
+        }
+        return new SuggestionPage<>(items, null, ranges, hasMore);
+    }
+}
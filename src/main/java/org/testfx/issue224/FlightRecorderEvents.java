@@ -0,0 +1,83 @@
+package org.testfx.issue224;
+
+/**
+ * Creates the Flight Recorder events, but only while they are being recorded.
+ * <p>
+ * On Java 11 and later the event classes extend {@code jdk.jfr.Event}, which is
+ * missing from runtimes built without the {@code jdk.jfr} module (such as jlinked
+ * applications). Whether it is there is checked once, and the event classes are
+ * never loaded if it is not. The {@code isEnabled()} check is made on one shared
+ * instance per event type, so nothing is allocated per key stroke unless the
+ * event is enabled in a recording.
+ */
+final class FlightRecorderEvents
+{
+    static final boolean AVAILABLE = isAvailable();
+
+    private static final QueryEvent QUERY = AVAILABLE ? new QueryEvent() : null;
+
+    private static final IndexBuildEvent INDEX_BUILD = AVAILABLE ? new IndexBuildEvent() : null;
+
+    private static final PopupShowEvent POPUP_SHOW = AVAILABLE ? new PopupShowEvent() : null;
+
+    private FlightRecorderEvents()
+    {
+    }
+
+    /**
+     * Returns a begun query event, or null if queries are not being recorded.
+     */
+    static QueryEvent beginQuery()
+    {
+        if (QUERY == null || !QUERY.isEnabled())
+        {
+            return null;
+        }
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Returns a begun index build event, or null if index builds are not being
+     * recorded.
+     */
+    static IndexBuildEvent beginIndexBuild()
+    {
+        if (INDEX_BUILD == null || !INDEX_BUILD.isEnabled())
+        {
+            return null;
+        }
+        IndexBuildEvent event = new IndexBuildEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Returns a begun popup show event, or null if popup shows are not being
+     * recorded.
+     */
+    static PopupShowEvent beginPopupShow()
+    {
+        if (POPUP_SHOW == null || !POPUP_SHOW.isEnabled())
+        {
+            return null;
+        }
+        PopupShowEvent event = new PopupShowEvent();
+        event.begin();
+        return event;
+    }
+
+    private static boolean isAvailable()
+    {
+        try
+        {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+            return true;
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package org.testfx.issue224;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+
+/**
+ * Matches queries against a list of values held in memory. The key of every
+ * value is extracted once, when the provider is created, and normalized once, the
+ * first time it is needed for a given {@link KeyFolding} (locale and accent
+ * folding setting), instead of on every key stroke. Matching then only compares
+ * the characters of the normalized keys, whatever the locale.
+ * <p>
+ * The items of the returned pages are views that look up the values by index on
+ * access, so a page costs one {@code int} per match rather than a copy of the
+ * matched values.
+ * <p>
+ * A query that extends the previous one with the same mode and accent folding,
+ * as happens on every typed character, only scans the matches of the previous
+ * query instead of all values.
+ * <p>
+ * On Java 17 and later, with the {@code jdk.incubator.vector} module added, a
+ * {@link AutoCompleteMode#CONTAINS} query that scans all values searches the keys
+ * packed into a single Latin-1 byte array with vector instructions, see
+ * {@link ContainsKernel}.
+ * <p>
+ * Lookups complete synchronously and reuse internal buffers, so an instance must
+ * only be used from one thread (normally the JavaFX application thread).
+ */
+public class InMemorySuggestionProvider<T> implements SuggestionProvider<T>
+{
+    private final List<T> values;
+
+    /**
+     * The keys extracted from the values, in the same order.
+     */
+    private final String[] keys;
+
+    /**
+     * The index of the first value of each key, built when a key is first looked
+     * up, which is when typed text is committed.
+     */
+    private Map<String, Integer> keyIndexes;
+
+    /**
+     * The normalized keys by folding, computed lazily.
+     */
+    private Map<KeyFolding, String[]> normalizedKeysByFolding;
+
+    private UsageStatistics usageStatistics;
+
+    /**
+     * Scratch buffers for matching, reused between queries and allocated on the
+     * first one, so that providers that are never queried stay small.
+     */
+    private int[] matchBuffer;
+    private int[] boostBuffer;
+
+    /**
+     * The offset of the match in the normalized key, by value index.
+     */
+    private int[] matchStarts;
+
+    /**
+     * The indexes {@code 0..n-1} of the {@link #all()} page, built on its first
+     * call. Pages never modify their indexes, so every such page shares them.
+     */
+    private int[] allIndexes;
+
+    /**
+     * The previous query, whose matches are the first {@code lastMatchCount}
+     * entries of the match buffer, or null if they cannot be narrowed. They are
+     * ranked by the usage statistics as of {@code lastUsageModCount}.
+     */
+    private SuggestionQuery lastQuery;
+    private int lastMatchCount;
+    private int lastUsageModCount;
+
+    private AutoCompleteMetricsListener metricsListener;
+
+    private boolean narrowing = true;
+
+    private static final ContainsKernel CONTAINS_KERNEL = ContainsKernel.load();
+
+    /**
+     * The normalized keys packed for the contains kernel by folding, built lazily
+     * if the kernel is available.
+     */
+    private Map<KeyFolding, Latin1KeyArena> arenas;
+
+    public InMemorySuggestionProvider(final List<T> values, final Function<? super T, String> keyExtractor)
+    {
+        this.values = values instanceof RandomAccess ? values : new ArrayList<>(values);
+        keys = new String[values.size()];
+        int i = 0;
+        for (T value : values)
+        {
+            keys[i++] = keyExtractor.apply(value);
+        }
+    }
+
+    /**
+     * Creates a provider for strings, which are their own keys.
+     */
+    public static InMemorySuggestionProvider<String> of(final List<String> values)
+    {
+        return new InMemorySuggestionProvider<>(values, Function.identity());
+    }
+
+    public List<T> getValues()
+    {
+        return values;
+    }
+
+    /**
+     * Returns the key of the value at the given index.
+     */
+    public String getKey(int index)
+    {
+        return keys[index];
+    }
+
+    /**
+     * Returns the index of the first value with the given key, or -1 if there is
+     * none. The keys are indexed by the first call.
+     */
+    public int indexOfKey(String key)
+    {
+        if (keyIndexes == null)
+        {
+            keyIndexes = new HashMap<>(2 * keys.length);
+            for (int i = keys.length - 1; i >= 0; i--)
+            {
+                keyIndexes.put(keys[i], i);
+            }
+        }
+        Integer index = keyIndexes.get(key);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Computes a fingerprint of the keys, see {@link UsageStatistics#fingerprint(Iterable)}.
+     */
+    public long fingerprint()
+    {
+        return UsageStatistics.fingerprint(Arrays.asList(keys));
+    }
+
+    /**
+     * Sets the selection counters used to move frequently chosen values to the
+     * top of the matches, or null to keep the matches in value order.
+     */
+    public void setUsageStatistics(UsageStatistics usageStatistics)
+    {
+        this.usageStatistics = usageStatistics;
+        // the previous matches are ordered by the old counters
+        lastQuery = null;
+    }
+
+    /**
+     * Sets the listener told about filter times and candidate counts, or null to
+     * measure nothing.
+     */
+    public void setMetricsListener(AutoCompleteMetricsListener metricsListener)
+    {
+        this.metricsListener = metricsListener;
+    }
+
+    public boolean isNarrowing()
+    {
+        return narrowing;
+    }
+
+    /**
+     * If false, every query scans all values, even if it extends the previous
+     * one. Mostly useful to measure full scans. If true, a query only scans the
+     * matches of the previous one if it extends its text with the same mode and
+     * folding, and no selection was recorded in the usage statistics since.
+     */
+    public void setNarrowing(boolean narrowing)
+    {
+        this.narrowing = narrowing;
+        lastQuery = null;
+    }
+
+    @Override
+    public CompletableFuture<SuggestionPage<T>> suggest(final SuggestionQuery query)
+    {
+        return CompletableFuture.completedFuture(match(query));
+    }
+
+    public SuggestionPage<T> match(final SuggestionQuery query)
+    {
+        AutoCompleteMetricsListener metrics = metricsListener;
+        long startTime = metrics == null ? 0 : System.nanoTime();
+
+        String[] normalizedKeys = normalizedKeys(query.getFolding());
+        if (matchBuffer == null)
+        {
+            matchBuffer = new int[keys.length];
+            matchStarts = new int[keys.length];
+        }
+        int matchCount = 0;
+        int scanned;
+        boolean narrowed = canNarrow(query);
+        byte[] needle = narrowed || CONTAINS_KERNEL == null || query.getMode() != AutoCompleteMode.CONTAINS
+            ? null : Latin1KeyArena.toNeedle(query.getText());
+        if (narrowed)
+        {
+            scanned = lastMatchCount;
+            matchCount = narrow(query, normalizedKeys);
+        }
+        else if (needle != null)
+        {
+            scanned = normalizedKeys.length;
+            matchCount = arena(query.getFolding(), normalizedKeys).findAll(CONTAINS_KERNEL, needle,
+                matchBuffer, matchStarts);
+        }
+        else
+        {
+            scanned = normalizedKeys.length;
+            for (int i = 0; i < normalizedKeys.length; i++)
+            {
+                int matchStart = query.indexIn(normalizedKeys[i]);
+                if (matchStart >= 0)
+                {
+                    matchStarts[i] = matchStart;
+                    matchBuffer[matchCount++] = i;
+                }
+            }
+        }
+
+        rankByUsage(matchBuffer, matchCount);
+        lastQuery = narrowing ? query : null;
+        lastMatchCount = matchCount;
+        lastUsageModCount = usageModCount();
+
+        int from = Math.min(query.getOffset(), matchCount);
+        int to = (int) Math.min((long) from + query.getLimit(), matchCount);
+        int[] valueIndexes = Arrays.copyOfRange(matchBuffer, from, to);
+        int[] matchRanges = new int[2 * (to - from)];
+        int queryLength = query.getText().length();
+        KeyFolding folding = query.getFolding();
+        for (int i = from; i < to; i++)
+        {
+            int index = matchBuffer[i];
+            int start = matchStarts[index];
+            matchRanges[2 * (i - from)] = folding.toOriginalOffset(keys[index], normalizedKeys[index], start,
+                false);
+            matchRanges[2 * (i - from) + 1] = folding.toOriginalOffset(keys[index], normalizedKeys[index],
+                start + queryLength, true);
+        }
+        SuggestionPage<T> page = new SuggestionPage<>(new IndexedList<>(values, valueIndexes), valueIndexes,
+            matchRanges, to < matchCount);
+
+        if (metrics != null)
+        {
+            metrics.candidatesFiltered(System.nanoTime() - startTime, scanned, matchCount, narrowed);
+        }
+        return page;
+    }
+
+    /**
+     * Returns true if every match of the query is a match of the previous query,
+     * because both are matched the same way and the query extends it, and the
+     * previous matches are still ranked by the current usage statistics.
+     */
+    private boolean canNarrow(final SuggestionQuery query)
+    {
+        return lastQuery != null
+            && lastQuery.getMode() == query.getMode()
+            && lastQuery.getFolding() == query.getFolding()
+            && lastUsageModCount == usageModCount()
+            && query.getText().startsWith(lastQuery.getText());
+    }
+
+    private int usageModCount()
+    {
+        return usageStatistics == null ? 0 : usageStatistics.getModCount();
+    }
+
+    /**
+     * Keeps the matches of the previous query that the query matches too, in
+     * place at the start of the match buffer, and returns their count. They are in
+     * ranked order, but ranking them again gives the same order as a full scan.
+     */
+    private int narrow(final SuggestionQuery query, final String[] normalizedKeys)
+    {
+        int matchCount = 0;
+        for (int j = 0; j < lastMatchCount; j++)
+        {
+            int i = matchBuffer[j];
+            int matchStart = query.indexIn(normalizedKeys[i]);
+            if (matchStart >= 0)
+            {
+                matchStarts[i] = matchStart;
+                matchBuffer[matchCount++] = i;
+            }
+        }
+        return matchCount;
+    }
+
+    /**
+     * Returns a page holding all values in their original order.
+     */
+    public SuggestionPage<T> all()
+    {
+        int[] valueIndexes = allIndexes;
+        if (valueIndexes == null || valueIndexes.length != values.size())
+        {
+            valueIndexes = new int[values.size()];
+            for (int i = 0; i < valueIndexes.length; i++)
+            {
+                valueIndexes[i] = i;
+            }
+            allIndexes = valueIndexes;
+        }
+        return new SuggestionPage<>(new IndexedList<>(values, valueIndexes), valueIndexes, false);
+    }
+
+    private String[] normalizedKeys(final KeyFolding folding)
+    {
+        if (normalizedKeysByFolding == null)
+        {
+            normalizedKeysByFolding = new HashMap<>(4);
+        }
+        String[] foldedKeys = normalizedKeysByFolding.get(folding);
+        if (foldedKeys == null)
+        {
+            IndexBuildEvent event = FlightRecorderEvents.beginIndexBuild();
+            AutoCompleteMetricsListener metrics = metricsListener;
+            long startTime = metrics == null ? 0 : System.nanoTime();
+            foldedKeys = new String[keys.length];
+            for (int i = 0; i < keys.length; i++)
+            {
+                foldedKeys[i] = folding.fold(keys[i]);
+            }
+            normalizedKeysByFolding.put(folding, foldedKeys);
+            if (metrics != null)
+            {
+                metrics.keysNormalized(keys.length, System.nanoTime() - startTime);
+            }
+            if (event != null && event.shouldCommit())
+            {
+                event.keyCount = keys.length;
+                event.locale = folding.getLocale().toLanguageTag();
+                event.foldAccentMarks = folding.isFoldAccentMarks();
+                event.commit();
+            }
+        }
+        return foldedKeys;
+    }
+
+    private Latin1KeyArena arena(final KeyFolding folding, final String[] foldedKeys)
+    {
+        if (arenas == null)
+        {
+            arenas = new HashMap<>(4);
+        }
+        Latin1KeyArena arena = arenas.get(folding);
+        if (arena == null)
+        {
+            arena = new Latin1KeyArena(foldedKeys);
+            arenas.put(folding, arena);
+        }
+        return arena;
+    }
+
+    /**
+     * Moves the matches that have been selected before to the front, most used
+     * first, and keeps the others in their original order.
+     */
+    private void rankByUsage(final int[] matches, final int matchCount)
+    {
+        if (usageStatistics == null || !usageStatistics.hasUsage())
+        {
+            return;
+        }
+        if (boostBuffer == null)
+        {
+            boostBuffer = new int[keys.length];
+        }
+
+        int boostedCount = 0;
+        int otherCount = 0;
+        for (int i = 0; i < matchCount; i++)
+        {
+            if (usageStatistics.score(matches[i]) > 0)
+            {
+                boostBuffer[boostedCount++] = matches[i];
+            }
+            else
+            {
+                matches[otherCount++] = matches[i];
+            }
+        }
+
+        if (boostedCount == 0)
+        {
+            return;
+        }
+
+        // only a handful of values are ever chosen, so a stable insertion sort is enough
+        for (int i = 1; i < boostedCount; i++)
+        {
+            int index = boostBuffer[i];
+            float score = usageStatistics.score(index);
+            int j = i - 1;
+            while (j >= 0 && usageStatistics.score(boostBuffer[j]) < score)
+            {
+                boostBuffer[j + 1] = boostBuffer[j];
+                j--;
+            }
+            boostBuffer[j + 1] = index;
+        }
+
+        System.arraycopy(matches, 0, matches, boostedCount, otherCount);
+        System.arraycopy(boostBuffer, 0, matches, 0, boostedCount);
+    }
+
+    /**
+     * A read-only view of the values at the given indexes.
+     */
+    private static final class IndexedList<T> extends AbstractList<T> implements RandomAccess
+    {
+        private final List<T> values;
+
+        private final int[] indexes;
+
+        IndexedList(final List<T> values, final int[] indexes)
+        {
+            this.values = values;
+            this.indexes = indexes;
+        }
+
+        @Override
+        public T get(int index)
+        {
+            return values.get(indexes[index]);
+        }
+
+        @Override
+        public int size()
+        {
+            return indexes.length;
+        }
+    }
+}
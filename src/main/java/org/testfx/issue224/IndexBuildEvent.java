@@ -0,0 +1,34 @@
+package org.testfx.issue224;
+
+/**
+ * A Flight Recorder event spanning the normalization of the keys of all values
+ * held in memory for a locale and accent folding setting.
+ * <p>
+ * This version does nothing, see {@link QueryEvent}.
+ */
+final class IndexBuildEvent
+{
+    int keyCount;
+
+    String locale;
+
+    boolean foldAccentMarks;
+
+    boolean isEnabled()
+    {
+        return false;
+    }
+
+    void begin()
+    {
+    }
+
+    boolean shouldCommit()
+    {
+        return false;
+    }
+
+    void commit()
+    {
+    }
+}
@@ -0,0 +1,300 @@
+package org.testfx.issue224;
+
+import java.text.Collator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Folds text for matching the way a given locale compares it: characters are
+ * case folded with the case mappings of the locale (so "ß" becomes "ss" and, in
+ * Turkish, "I" becomes "ı" rather than "i"), and accent marks are optionally
+ * folded to their base letters, except for the letters the locale treats as
+ * letters of their own (such as "å" in Swedish or "ñ" in Spanish).
+ * <p>
+ * The fold of every character of the Basic Multilingual Plane is computed once
+ * per locale and accent folding setting, using the collator of the locale, and
+ * kept in a {@code char} table, so folding a key or a query costs one table
+ * lookup per character and never compares with a {@link Collator}. Instances are
+ * shared and thread-safe.
+ */
+public final class KeyFolding
+{
+    private static final Map<Locale, KeyFolding> ACCENT_FOLDINGS = new ConcurrentHashMap<>();
+
+    private static final Map<Locale, KeyFolding> PLAIN_FOLDINGS = new ConcurrentHashMap<>();
+
+    /**
+     * Marks the characters whose fold is not a single character; their folds are
+     * in {@link #expansions}.
+     */
+    private static final char EXPANDED = '\uFFFF';
+
+    private final Locale locale;
+
+    private final boolean foldAccentMarks;
+
+    private final char[] folds = new char[Character.MAX_VALUE + 1];
+
+    private final Map<Character, String> expansions = new HashMap<>();
+
+    private KeyFolding(final Locale locale, final boolean foldAccentMarks)
+    {
+        this.locale = locale;
+        this.foldAccentMarks = foldAccentMarks;
+
+        Collator rootCollator = foldAccentMarks ? primaryCollator(Locale.ROOT) : null;
+        Collator collator = foldAccentMarks ? primaryCollator(locale) : null;
+        if (collator != null && collator.equals(rootCollator))
+        {
+            // the locale has no collation rules of its own
+            collator = null;
+        }
+        StringBuilder fold = new StringBuilder(4);
+        for (int c = 0; c <= Character.MAX_VALUE; c++)
+        {
+            if (Character.isSurrogate((char) c))
+            {
+                // folded by code point, see fold(String, int, StringBuilder)
+                folds[c] = EXPANDED;
+                continue;
+            }
+
+            fold.setLength(0);
+            String caseFold = hasCase((char) c) ? caseFold(String.valueOf((char) c)) : String.valueOf((char) c);
+            for (int i = 0; i < caseFold.length(); i++)
+            {
+                char folded = caseFold.charAt(i);
+                if (foldAccentMarks)
+                {
+                    if (Character.getType(folded) == Character.NON_SPACING_MARK)
+                    {
+                        continue;
+                    }
+                    Character base = AccentMap.BASE_LETTERS.get(folded);
+                    if (base != null && !isLetterOfItsOwn(folded, base, collator, rootCollator))
+                    {
+                        folded = base;
+                    }
+                }
+                fold.append(folded);
+            }
+
+            if (fold.length() == 1 && fold.charAt(0) != EXPANDED)
+            {
+                folds[c] = fold.charAt(0);
+            }
+            else
+            {
+                folds[c] = EXPANDED;
+                expansions.put((char) c, fold.toString());
+            }
+        }
+    }
+
+    /**
+     * Returns the folding for the given locale and accent folding setting. The
+     * first call for a locale builds its table, which takes some tens of
+     * milliseconds, about as long as normalizing the keys of 100000 values.
+     */
+    public static KeyFolding of(final Locale locale, final boolean foldAccentMarks)
+    {
+        Objects.requireNonNull(locale, "locale");
+        Map<Locale, KeyFolding> foldings = foldAccentMarks ? ACCENT_FOLDINGS : PLAIN_FOLDINGS;
+        KeyFolding folding = foldings.get(locale);
+        if (folding == null)
+        {
+            folding = foldings.computeIfAbsent(locale, key -> new KeyFolding(key, foldAccentMarks));
+        }
+        return folding;
+    }
+
+    public Locale getLocale()
+    {
+        return locale;
+    }
+
+    public boolean isFoldAccentMarks()
+    {
+        return foldAccentMarks;
+    }
+
+    /**
+     * Folds the given text, returning the same instance if folding does not change
+     * it.
+     */
+    public String fold(final String text)
+    {
+        int length = text.length();
+        int i = 0;
+        while (i < length && folds[text.charAt(i)] == text.charAt(i))
+        {
+            i++;
+        }
+        if (i == length)
+        {
+            return text;
+        }
+
+        StringBuilder folded = new StringBuilder(length + 8);
+        folded.append(text, 0, i);
+        while (i < length)
+        {
+            i = fold(text, i, folded);
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Maps an offset into the folded form of {@code value} back to an offset into
+     * {@code value}. Offsets only differ when folding changes the length of a
+     * character, so this is only expensive for those values. An offset in the
+     * middle of the fold of a character is rounded down to that character for the
+     * start of a range and up past it for the end of a range.
+     * <p>
+     * Comparing the lengths of the value and its fold is not enough to tell: an
+     * expansion ("ß" to "ss") and a dropped accent mark cancel out.
+     */
+    public int toOriginalOffset(final String value, final String foldedValue, final int offset,
+                                final boolean rangeEnd)
+    {
+        if (!changesLength(value))
+        {
+            return offset;
+        }
+
+        int foldedOffset = 0;
+        for (int i = 0; i < value.length(); )
+        {
+            int next = foldedOffset + foldedLength(value, i);
+            if (rangeEnd ? foldedOffset >= offset : next > offset)
+            {
+                return i;
+            }
+            foldedOffset = next;
+            i += Character.charCount(value.codePointAt(i));
+        }
+        return value.length();
+    }
+
+    /**
+     * Appends the fold of the character (or surrogate pair) at the given index and
+     * returns the index of the next one.
+     */
+    private int fold(final String text, final int index, final StringBuilder folded)
+    {
+        char c = text.charAt(index);
+        char fold = folds[c];
+        if (fold != EXPANDED)
+        {
+            folded.append(fold);
+            return index + 1;
+        }
+        if (!Character.isSurrogate(c))
+        {
+            folded.append(expansions.get(c));
+            return index + 1;
+        }
+
+        int codePoint = text.codePointAt(index);
+        int charCount = Character.charCount(codePoint);
+        String caseFold = caseFold(text.substring(index, index + charCount));
+        for (int i = 0; i < caseFold.length(); i++)
+        {
+            char folding = caseFold.charAt(i);
+            if (!foldAccentMarks || Character.getType(folding) != Character.NON_SPACING_MARK)
+            {
+                folded.append(folding);
+            }
+        }
+        return index + charCount;
+    }
+
+    private boolean changesLength(final String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            if (folds[value.charAt(i)] == EXPANDED)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int foldedLength(final String value, final int index)
+    {
+        char c = value.charAt(index);
+        char fold = folds[c];
+        if (fold != EXPANDED)
+        {
+            return 1;
+        }
+        if (!Character.isSurrogate(c))
+        {
+            return expansions.get(c).length();
+        }
+        StringBuilder folded = new StringBuilder(4);
+        fold(value, index, folded);
+        return folded.length();
+    }
+
+    /**
+     * Folds the case of a single character: upper-casing the lower-case form maps
+     * the letters that have no single lower-case form ("ẞ", "ß", ligatures) to
+     * several letters and the different lower-case forms of a letter (such as "ς"
+     * and "σ") to one. Those expansions are lower-cased without the rules of the
+     * locale, so that the "I" of "ﬁ" does not become a Turkish dotless "ı".
+     */
+    private String caseFold(final String character)
+    {
+        String upperCase = character.toLowerCase(locale).toUpperCase(locale);
+        return upperCase.toLowerCase(upperCase.length() > character.length() ? Locale.ROOT : locale);
+    }
+
+    /**
+     * Returns false for the characters that case folding leaves unchanged in any
+     * locale, which are most of them (ideographs, syllables, symbols), so that
+     * building a table only has to fold a few thousand characters.
+     */
+    private static boolean hasCase(final char c)
+    {
+        int type = Character.getType(c);
+        return type == Character.UPPERCASE_LETTER || type == Character.LOWERCASE_LETTER
+            || type == Character.TITLECASE_LETTER || Character.toUpperCase(c) != c
+            || Character.toLowerCase(c) != c;
+    }
+
+    /**
+     * Returns true if the locale treats the accented letter as a letter of its
+     * own rather than a variant of its base letter, which is the case if its
+     * collator or its case mappings tell them apart while the root locale does
+     * not.
+     */
+    private boolean isLetterOfItsOwn(final char letter, final char base, final Collator collator,
+                                     final Collator rootCollator)
+    {
+        String letterText = String.valueOf(letter);
+        String baseText = String.valueOf(base);
+        boolean tailoredCollation = collator != null && collator.compare(letterText, baseText) != 0
+            && rootCollator.compare(letterText, baseText) == 0;
+        boolean tailoredCase = !letterText.toUpperCase(locale).equals(baseText.toUpperCase(locale))
+            && letterText.toUpperCase(Locale.ROOT).equals(baseText.toUpperCase(Locale.ROOT));
+        return tailoredCollation || tailoredCase;
+    }
+
+    private static Collator primaryCollator(final Locale locale)
+    {
+        Collator collator = Collator.getInstance(locale);
+        collator.setStrength(Collator.PRIMARY);
+        return collator;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "KeyFolding[" + locale.toLanguageTag() + ", fold=" + foldAccentMarks + "]";
+    }
+}
@@ -0,0 +1,112 @@
+package org.testfx.issue224;
+
+import java.util.Arrays;
+
+/**
+ * The normalized keys packed one byte per character into a single array, each
+ * followed by a zero byte, so that a {@link ContainsKernel} can scan all of them
+ * in one pass. Characters outside Latin-1 are stored as zero bytes too: they can
+ * never be part of a match for a Latin-1 needle, and keeping one byte per
+ * character keeps the offsets in the arena equal to the offsets in the keys.
+ */
+final class Latin1KeyArena
+{
+    private final byte[] bytes;
+
+    /**
+     * The offset of every key in the arena; {@code offsets[keyCount]} is the
+     * arena length.
+     */
+    private final int[] offsets;
+
+    Latin1KeyArena(final String[] keys)
+    {
+        int length = 0;
+        for (String key : keys)
+        {
+            length += key.length() + 1;
+        }
+
+        bytes = new byte[length];
+        offsets = new int[keys.length + 1];
+        int offset = 0;
+        for (int i = 0; i < keys.length; i++)
+        {
+            offsets[i] = offset;
+            String key = keys[i];
+            for (int j = 0; j < key.length(); j++)
+            {
+                char c = key.charAt(j);
+                bytes[offset++] = c <= 0xFF ? (byte) c : 0;
+            }
+            offset++;
+        }
+        offsets[keys.length] = offset;
+    }
+
+    /**
+     * Returns the query text as Latin-1 bytes, or null if it cannot be matched
+     * against the arena.
+     */
+    static byte[] toNeedle(final String text)
+    {
+        if (text.isEmpty())
+        {
+            return null;
+        }
+        byte[] needle = new byte[text.length()];
+        for (int i = 0; i < needle.length; i++)
+        {
+            char c = text.charAt(i);
+            if (c == 0 || c > 0xFF)
+            {
+                return null;
+            }
+            needle[i] = (byte) c;
+        }
+        return needle;
+    }
+
+    /**
+     * Finds the keys containing the needle, in ascending order, writing their
+     * indexes to {@code matches} and the offset of the first occurrence in every
+     * matched key to {@code matchStarts[key]}. Returns the number of matches.
+     */
+    int findAll(final ContainsKernel kernel, final byte[] needle, final int[] matches, final int[] matchStarts)
+    {
+        int matchCount = 0;
+        int position = 0;
+        int key = 0;
+        while (true)
+        {
+            int found = kernel.indexOf(bytes, position, bytes.length, needle);
+            if (found < 0)
+            {
+                return matchCount;
+            }
+
+            key = keyAt(found, key);
+            // the needle has no zero bytes, so it never spans two keys
+            matchStarts[key] = found - offsets[key];
+            matches[matchCount++] = key;
+            position = offsets[key + 1];
+        }
+    }
+
+    /**
+     * Returns the key containing the given offset, searching from the given key
+     * on: linearly first, since matches are often close to each other.
+     */
+    private int keyAt(final int offset, final int fromKey)
+    {
+        for (int key = fromKey; key < fromKey + 8 && key < offsets.length - 1; key++)
+        {
+            if (offsets[key + 1] > offset)
+            {
+                return key;
+            }
+        }
+        int index = Arrays.binarySearch(offsets, fromKey, offsets.length, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+}
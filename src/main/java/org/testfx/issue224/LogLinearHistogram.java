@@ -0,0 +1,112 @@
+package org.testfx.issue224;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of non-negative values with a relative error of about 3%,
+ * laid out like HdrHistogram: values below 64 get a bucket each, larger values
+ * share 32 buckets per power of two. Recording is a few shifts and an array
+ * increment and never allocates.
+ * <p>
+ * Values are recorded by one thread; other threads may read while it records and
+ * then see a recent, possibly slightly inconsistent, state.
+ */
+final class LogLinearHistogram
+{
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Larger values (about 18 minutes in nanoseconds) are recorded as this one.
+     */
+    static final long MAX_VALUE = (1L << 40) - 1;
+
+    private final long[] counts = new long[bucketIndex(MAX_VALUE) + 1];
+
+    private volatile long totalCount;
+    private long sum;
+    private long max;
+
+    void record(final long value)
+    {
+        long clamped = value < 0 ? 0 : Math.min(value, MAX_VALUE);
+        counts[bucketIndex(clamped)]++;
+        sum += clamped;
+        if (clamped > max)
+        {
+            max = clamped;
+        }
+        totalCount++;
+    }
+
+    long getTotalCount()
+    {
+        return totalCount;
+    }
+
+    long getSum()
+    {
+        return sum;
+    }
+
+    long getMax()
+    {
+        return max;
+    }
+
+    double getMean()
+    {
+        long count = totalCount;
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the highest value equivalent to the one at the given percentile,
+     * or 0 if nothing was recorded.
+     */
+    long getValueAtPercentile(final double percentile)
+    {
+        long count = totalCount;
+        if (count == 0)
+        {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++)
+        {
+            seen += counts[i];
+            if (seen >= target)
+            {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    void reset()
+    {
+        Arrays.fill(counts, 0);
+        sum = 0;
+        max = 0;
+        totalCount = 0;
+    }
+
+    static int bucketIndex(final long value)
+    {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS + 1));
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(final int bucketIndex)
+    {
+        if (bucketIndex < 2 * SUB_BUCKET_COUNT)
+        {
+            return bucketIndex;
+        }
+        int shift = (bucketIndex >> SUB_BUCKET_BITS) - 1;
+        long subBucket = bucketIndex - shift * SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,85 @@
+package org.testfx.issue224;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextFlow;
+
+/**
+ * A list cell showing the key of a suggestion with the matched part in bold.
+ * <p>
+ * The match offsets are the ones reported by the {@link SuggestionProvider}
+ * while matching, so nothing is matched again when cells are laid out or
+ * scrolled, and the three {@link Text} nodes are created once per cell and only
+ * have their text replaced when the cell is reused. Cells also re-render when a
+ * query matches the same item at another position.
+ */
+public class MatchHighlightingListCell<T> extends ListCell<T>
+{
+    private final AutoCompleteComboBox<T> autoCompleteComboBox;
+
+    private final Text before = new Text();
+    private final Text match = new Text();
+    private final Text after = new Text();
+
+    private final TextFlow textFlow = new TextFlow(before, match, after);
+
+    private final ChangeListener<SuggestionPage<T>> pageListener = (observable, oldPage, newPage) -> updateText();
+
+    public MatchHighlightingListCell(final AutoCompleteComboBox<T> autoCompleteComboBox)
+    {
+        this.autoCompleteComboBox = autoCompleteComboBox;
+        getStyleClass().add("match-highlighting-list-cell");
+        match.getStyleClass().add("match");
+        for (Text text : new Text[] {before, match, after})
+        {
+            text.fillProperty().bind(textFillProperty());
+        }
+        fontProperty().addListener((observable, oldFont, font) -> updateFonts(font));
+        updateFonts(getFont());
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        autoCompleteComboBox.currentPageProperty().addListener(new WeakChangeListener<>(pageListener));
+    }
+
+    @Override
+    protected void updateItem(T item, boolean empty)
+    {
+        super.updateItem(item, empty);
+        updateText();
+    }
+
+    private void updateText()
+    {
+        T item = getItem();
+        if (isEmpty() || item == null)
+        {
+            setGraphic(null);
+            return;
+        }
+
+        String key = autoCompleteComboBox.getKeyExtractor().apply(item);
+        int start = autoCompleteComboBox.getMatchStart(getIndex());
+        int end = autoCompleteComboBox.getMatchEnd(getIndex());
+        if (start < 0 || end > key.length() || start > end)
+        {
+            start = key.length();
+            end = key.length();
+        }
+
+        before.setText(key.substring(0, start));
+        match.setText(key.substring(start, end));
+        after.setText(key.substring(end));
+        setGraphic(textFlow);
+    }
+
+    private void updateFonts(final Font font)
+    {
+        before.setFont(font);
+        match.setFont(Font.font(font.getFamily(), FontWeight.BOLD, font.getSize()));
+        after.setFont(font);
+    }
+}
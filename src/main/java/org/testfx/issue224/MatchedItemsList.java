@@ -0,0 +1,226 @@
+package org.testfx.issue224;
+
+import java.util.List;
+import java.util.Objects;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableListBase;
+
+/**
+ * A read-only observable view of the suggestions of the current query.
+ * <p>
+ * The list stays the same instance for the lifetime of the control. Every new
+ * page of suggestions is announced with exactly one change, made up of the
+ * smallest add and remove ranges that turn the previous suggestions into the new
+ * ones, so a view bound to the list only has to update the rows that actually
+ * changed. Elements are read from the page on access and never copied.
+ * <p>
+ * Must only be used from the JavaFX application thread.
+ */
+final class MatchedItemsList<T> extends ObservableListBase<T>
+{
+    private final ReadOnlyObjectWrapper<SuggestionPage<T>> page = new ReadOnlyObjectWrapper<>(this, "page");
+
+    /**
+     * Marks the value indexes present in the old and new page while diffing. A
+     * value is in the old page if its stamp is {@code stamp + IN_OLD} or
+     * {@code stamp + IN_BOTH}, and in the new page if its stamp is
+     * {@code stamp + IN_NEW} or {@code stamp + IN_BOTH}.
+     */
+    private int[] stamps = new int[0];
+    private int stamp;
+
+    private static final int IN_OLD = 1;
+    private static final int IN_NEW = 2;
+    private static final int IN_BOTH = 3;
+
+    MatchedItemsList(final SuggestionPage<T> page)
+    {
+        this.page.set(page);
+    }
+
+    SuggestionPage<T> getPage()
+    {
+        return page.get();
+    }
+
+    /**
+     * The page the elements are read from. Changes with every query, even when
+     * the elements stay the same but were matched differently.
+     */
+    ReadOnlyObjectProperty<SuggestionPage<T>> pageProperty()
+    {
+        return page.getReadOnlyProperty();
+    }
+
+    @Override
+    public T get(int index)
+    {
+        return page.get().getItems().get(index);
+    }
+
+    @Override
+    public int size()
+    {
+        return page.get().getItems().size();
+    }
+
+    void setPage(final SuggestionPage<T> newPage)
+    {
+        SuggestionPage<T> oldPage = page.get();
+        page.set(newPage);
+
+        beginChange();
+        if (oldPage.getValueIndexes() != null && newPage.getValueIndexes() != null)
+        {
+            diffByValueIndex(oldPage, newPage);
+        }
+        else
+        {
+            diffByTrimming(oldPage.getItems(), newPage.getItems());
+        }
+        endChange();
+    }
+
+    /**
+     * Walks both pages in order, keeping values present in both, removing values
+     * that are gone and adding values that are new. Values that are present in
+     * both but moved are added at their new position and removed at their old one.
+     */
+    private void diffByValueIndex(final SuggestionPage<T> oldPage, final SuggestionPage<T> newPage)
+    {
+        int[] oldIndexes = oldPage.getValueIndexes();
+        int[] newIndexes = newPage.getValueIndexes();
+        List<T> oldItems = oldPage.getItems();
+        markValueIndexes(oldIndexes, newIndexes);
+
+        int i = 0;
+        int j = 0;
+        int position = 0;
+        int removeFrom = -1;
+        int addFrom = -1;
+        while (i < oldIndexes.length || j < newIndexes.length)
+        {
+            if (i < oldIndexes.length && j < newIndexes.length && oldIndexes[i] == newIndexes[j])
+            {
+                if (removeFrom >= 0)
+                {
+                    nextRemove(position, oldItems.subList(removeFrom, i));
+                    removeFrom = -1;
+                }
+                if (addFrom >= 0)
+                {
+                    nextAdd(addFrom, position);
+                    addFrom = -1;
+                }
+                i++;
+                j++;
+                position++;
+            }
+            else if (i < oldIndexes.length && (j == newIndexes.length || !isInNew(oldIndexes[i])))
+            {
+                if (addFrom >= 0)
+                {
+                    nextAdd(addFrom, position);
+                    addFrom = -1;
+                }
+                if (removeFrom < 0)
+                {
+                    removeFrom = i;
+                }
+                i++;
+            }
+            else
+            {
+                if (removeFrom >= 0)
+                {
+                    nextRemove(position, oldItems.subList(removeFrom, i));
+                    removeFrom = -1;
+                }
+                if (addFrom < 0)
+                {
+                    addFrom = position;
+                }
+                // a value moved forward, such as one ranked first by usage, is added here
+                // and removed where it was in the old page
+                stamps[newIndexes[j]] = stamp + IN_OLD;
+                j++;
+                position++;
+            }
+        }
+
+        if (removeFrom >= 0)
+        {
+            nextRemove(position, oldItems.subList(removeFrom, i));
+        }
+        if (addFrom >= 0)
+        {
+            nextAdd(addFrom, position);
+        }
+    }
+
+    private void markValueIndexes(final int[] oldIndexes, final int[] newIndexes)
+    {
+        int maxIndex = -1;
+        for (int index : oldIndexes)
+        {
+            maxIndex = Math.max(maxIndex, index);
+        }
+        for (int index : newIndexes)
+        {
+            maxIndex = Math.max(maxIndex, index);
+        }
+        if (maxIndex >= stamps.length || stamp > Integer.MAX_VALUE - 2 * IN_BOTH)
+        {
+            stamps = new int[Math.max(maxIndex + 1, stamps.length)];
+            stamp = 0;
+        }
+
+        stamp += IN_BOTH + 1;
+        for (int index : oldIndexes)
+        {
+            stamps[index] = stamp + IN_OLD;
+        }
+        for (int index : newIndexes)
+        {
+            stamps[index] = stamps[index] == stamp + IN_OLD ? stamp + IN_BOTH : stamp + IN_NEW;
+        }
+    }
+
+    private boolean isInNew(final int valueIndex)
+    {
+        return stamps[valueIndex] == stamp + IN_NEW || stamps[valueIndex] == stamp + IN_BOTH;
+    }
+
+    /**
+     * Used when the pages do not identify their items: keeps the common prefix and
+     * suffix and replaces everything in between.
+     */
+    private void diffByTrimming(final List<T> oldItems, final List<T> newItems)
+    {
+        int prefix = 0;
+        int maxPrefix = Math.min(oldItems.size(), newItems.size());
+        while (prefix < maxPrefix && Objects.equals(oldItems.get(prefix), newItems.get(prefix)))
+        {
+            prefix++;
+        }
+
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (suffix < maxSuffix
+            && Objects.equals(oldItems.get(oldItems.size() - 1 - suffix), newItems.get(newItems.size() - 1 - suffix)))
+        {
+            suffix++;
+        }
+
+        if (oldItems.size() - suffix > prefix)
+        {
+            nextRemove(prefix, oldItems.subList(prefix, oldItems.size() - suffix));
+        }
+        if (newItems.size() - suffix > prefix)
+        {
+            nextAdd(prefix, newItems.size() - suffix);
+        }
+    }
+}
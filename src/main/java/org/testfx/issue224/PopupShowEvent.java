@@ -0,0 +1,31 @@
+package org.testfx.issue224;
+
+/**
+ * A Flight Recorder event spanning the popup being shown with new suggestions.
+ * <p>
+ * This version does nothing, see {@link QueryEvent}.
+ */
+final class PopupShowEvent
+{
+    int itemCount;
+
+    int visibleRowCount;
+
+    boolean isEnabled()
+    {
+        return false;
+    }
+
+    void begin()
+    {
+    }
+
+    boolean shouldCommit()
+    {
+        return false;
+    }
+
+    void commit()
+    {
+    }
+}
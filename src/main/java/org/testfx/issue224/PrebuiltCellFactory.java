@@ -0,0 +1,71 @@
+package org.testfx.issue224;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.util.Callback;
+
+/**
+ * A cell factory that creates the cells of the popup up front, when
+ * {@link #prebuild()} is called, and hands them out before creating any more.
+ * The popup list reuses its cells, so with a fixed cell size it never asks for
+ * more than the visible rows and a few spare ones, and no cell is created while
+ * typing.
+ */
+final class PrebuiltCellFactory<T> implements Callback<ListView<T>, ListCell<T>>
+{
+    private final Callback<ListView<T>, ListCell<T>> cellFactory;
+
+    private final int cellCount;
+
+    private final Deque<ListCell<T>> prebuiltCells = new ArrayDeque<>();
+
+    private boolean prebuilt;
+
+    private int createdCount;
+
+    PrebuiltCellFactory(final Callback<ListView<T>, ListCell<T>> cellFactory, final int cellCount)
+    {
+        this.cellFactory = cellFactory;
+        this.cellCount = cellCount;
+    }
+
+    /**
+     * Creates the cells, unless they have been created before.
+     */
+    void prebuild()
+    {
+        if (prebuilt)
+        {
+            return;
+        }
+        prebuilt = true;
+        for (int i = 0; i < cellCount; i++)
+        {
+            prebuiltCells.add(cellFactory.call(null));
+        }
+        createdCount += cellCount;
+    }
+
+    @Override
+    public ListCell<T> call(final ListView<T> listView)
+    {
+        ListCell<T> cell = prebuiltCells.poll();
+        if (cell != null)
+        {
+            return cell;
+        }
+        createdCount++;
+        return cellFactory.call(listView);
+    }
+
+    /**
+     * Returns the number of cells created so far, including the prebuilt ones.
+     */
+    int getCreatedCount()
+    {
+        return createdCount;
+    }
+}
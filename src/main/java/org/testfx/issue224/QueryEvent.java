@@ -0,0 +1,42 @@
+package org.testfx.issue224;
+
+/**
+ * A Flight Recorder event spanning one query, from the typed text being submitted
+ * to the popup showing its suggestions.
+ * <p>
+ * This version does nothing. On Java 11 and later the multi-release jar replaces
+ * it with a {@code jdk.jfr.Event} that is disabled unless enabled in the JFR
+ * settings, see {@code src/main/java11}. Events are only created through
+ * {@link FlightRecorderEvents}, which keeps that class from being loaded on
+ * runtimes without the {@code jdk.jfr} module.
+ */
+final class QueryEvent
+{
+    int queryLength;
+
+    String mode;
+
+    boolean foldAccentMarks;
+
+    int resultSize;
+
+    boolean hasMore;
+
+    boolean isEnabled()
+    {
+        return false;
+    }
+
+    void begin()
+    {
+    }
+
+    boolean shouldCommit()
+    {
+        return false;
+    }
+
+    void commit()
+    {
+    }
+}
@@ -0,0 +1,420 @@
+package org.testfx.issue224;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Matches queries against a UTF-8 file with one value per line that is loaded in
+ * the background, for vocabularies so large that waiting for them to be read
+ * would leave the control useless for seconds.
+ * <p>
+ * The file is read in chunks with a {@link FileChannel} on a worker thread, and
+ * every value is normalized with the given {@link KeyFolding} as soon as its line
+ * is complete. Queries are answered right away over the values loaded so far;
+ * call {@link AutoCompleteComboBox#refreshSuggestions()} from the
+ * {@linkplain #setProgressListener progress listener} to have the suggestions
+ * fill in as more values arrive. Values and normalized keys are stored in
+ * fixed-size segments that are never copied, so memory use grows with the values
+ * loaded and never holds the whole file, or a list of all lines, in addition.
+ */
+public class StreamingSuggestionProvider implements SuggestionProvider<String>
+{
+    /**
+     * Receives the progress of loading, on the loading thread, after every chunk
+     * of the file and once more when the whole file has been read.
+     */
+    @FunctionalInterface
+    public interface ProgressListener
+    {
+        void progress(int valueCount, long bytesRead, long totalBytes);
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private static final int SEGMENT_BITS = 14;
+
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+
+    /**
+     * How many values a lookup scans between checks for cancellation.
+     */
+    private static final int CANCELLATION_CHECK_INTERVAL = 4096;
+
+    private final Path file;
+
+    private final KeyFolding folding;
+
+    private final Executor queryExecutor;
+
+    private final int chunkSize;
+
+    /**
+     * The values and their normalized keys, in segments of {@link #SEGMENT_SIZE}.
+     * Only the loading thread writes them; a new segment array is published
+     * before the count that covers it.
+     */
+    private volatile String[][] valueSegments = new String[0][];
+    private volatile String[][] keySegments = new String[0][];
+
+    private volatile int valueCount;
+
+    private volatile long bytesRead;
+
+    private volatile long totalBytes;
+
+    private volatile boolean cancelled;
+
+    private volatile ProgressListener progressListener;
+
+    private final CompletableFuture<Integer> loaded = new CompletableFuture<>();
+
+    private StreamingSuggestionProvider(final Path file, final KeyFolding folding, final Executor queryExecutor,
+                                        final int chunkSize)
+    {
+        this.file = file;
+        this.folding = folding;
+        this.queryExecutor = queryExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Starts loading the given file on a new daemon thread, normalizing the values
+     * for the default locale with accent folding, which is how the control matches
+     * unless configured otherwise.
+     */
+    public static StreamingSuggestionProvider load(final Path file)
+    {
+        return load(file, KeyFolding.of(Locale.getDefault(), true));
+    }
+
+    public static StreamingSuggestionProvider load(final Path file, final KeyFolding folding)
+    {
+        return load(file, folding, runnable ->
+        {
+            Thread thread = new Thread(runnable, "autocomplete-vocabulary-loader");
+            thread.setDaemon(true);
+            thread.start();
+        }, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Starts loading the given file on the load executor. Queries are matched on
+     * the query executor; those normalized with the given folding use the keys
+     * normalized while loading, others normalize every value they scan.
+     */
+    public static StreamingSuggestionProvider load(final Path file, final KeyFolding folding,
+                                                   final Executor loadExecutor, final Executor queryExecutor)
+    {
+        return load(file, folding, loadExecutor, queryExecutor, DEFAULT_CHUNK_SIZE);
+    }
+
+    static StreamingSuggestionProvider load(final Path file, final KeyFolding folding, final Executor loadExecutor,
+                                            final Executor queryExecutor, final int chunkSize)
+    {
+        if (chunkSize < 4)
+        {
+            // a chunk has to hold a whole character, up to 4 bytes and 2 chars
+            throw new IllegalArgumentException("chunkSize must be at least 4: " + chunkSize);
+        }
+        StreamingSuggestionProvider provider = new StreamingSuggestionProvider(file, folding, queryExecutor,
+            chunkSize);
+        loadExecutor.execute(provider::read);
+        return provider;
+    }
+
+    public Path getFile()
+    {
+        return file;
+    }
+
+    public KeyFolding getFolding()
+    {
+        return folding;
+    }
+
+    /**
+     * Completes with the number of values once the whole file has been loaded, or
+     * exceptionally if it could not be read or loading was cancelled.
+     */
+    public CompletableFuture<Integer> getLoaded()
+    {
+        return loaded;
+    }
+
+    public boolean isLoaded()
+    {
+        return loaded.isDone();
+    }
+
+    /**
+     * The number of values loaded so far, which are the values queries are
+     * matched against.
+     */
+    public int getValueCount()
+    {
+        return valueCount;
+    }
+
+    /**
+     * Returns one of the first {@link #getValueCount()} values.
+     */
+    public String getValue(int index)
+    {
+        if (index < 0 || index >= valueCount)
+        {
+            throw new IndexOutOfBoundsException("index " + index + " of " + valueCount);
+        }
+        return valueSegments[index >>> SEGMENT_BITS][index & (SEGMENT_SIZE - 1)];
+    }
+
+    public long getBytesRead()
+    {
+        return bytesRead;
+    }
+
+    /**
+     * The size of the file, or 0 until it has been opened.
+     */
+    public long getTotalBytes()
+    {
+        return totalBytes;
+    }
+
+    public ProgressListener getProgressListener()
+    {
+        return progressListener;
+    }
+
+    /**
+     * Sets the listener told about the progress of loading, or null. It is called
+     * on the loading thread, so a listener updating the control has to hand over
+     * to the JavaFX application thread:
+     * <pre>
+     * provider.setProgressListener((valueCount, bytesRead, totalBytes) -&gt;
+     *     Platform.runLater(autoCompleteComboBox::refreshSuggestions));
+     * </pre>
+     */
+    public void setProgressListener(ProgressListener progressListener)
+    {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Stops loading after the current chunk. The values loaded so far are kept
+     * and still matched.
+     */
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    @Override
+    public CompletableFuture<SuggestionPage<String>> suggest(final SuggestionQuery query)
+    {
+        return CompletableFuture.supplyAsync(() -> match(query), queryExecutor);
+    }
+
+    private SuggestionPage<String> match(final SuggestionQuery query)
+    {
+        // read the count first, the segments published before it cover it
+        int count = valueCount;
+        String[][] values = valueSegments;
+        String[][] keys = query.getFolding() == folding ? keySegments : null;
+
+        List<String> items = new ArrayList<>();
+        List<Integer> matchRanges = new ArrayList<>();
+        int skipped = 0;
+        for (int i = 0; i < count; i++)
+        {
+            if ((i & (CANCELLATION_CHECK_INTERVAL - 1)) == 0 && query.isCancelled())
+            {
+                throw new CancellationException(query.toString());
+            }
+
+            String value = values[i >>> SEGMENT_BITS][i & (SEGMENT_SIZE - 1)];
+            String key = keys != null ? keys[i >>> SEGMENT_BITS][i & (SEGMENT_SIZE - 1)] : query.normalize(value);
+            int matchStart = query.indexIn(key);
+            if (matchStart < 0)
+            {
+                continue;
+            }
+            if (skipped < query.getOffset())
+            {
+                skipped++;
+            }
+            else if (items.size() < query.getLimit())
+            {
+                items.add(value);
+                KeyFolding queryFolding = query.getFolding();
+                matchRanges.add(queryFolding.toOriginalOffset(value, key, matchStart, false));
+                matchRanges.add(queryFolding.toOriginalOffset(value, key, matchStart + query.getText().length(),
+                    true));
+            }
+            else
+            {
+                return page(items, matchRanges, true);
+            }
+        }
+        return page(items, matchRanges, false);
+    }
+
+    private static SuggestionPage<String> page(final List<String> items, final List<Integer> matchRanges,
+                                               final boolean hasMore)
+    {
+        int[] ranges = new int[matchRanges.size()];
+        for (int i = 0; i < ranges.length; i++)
+        {
+            ranges[i] = matchRanges.get(i);
+        }
+        return new SuggestionPage<>(items, null, ranges, hasMore);
+    }
+
+    /**
+     * Reads the file chunk by chunk, decoding it into lines that are added as soon
+     * as they are complete. A line split between two chunks is carried over in a
+     * builder, and so are bytes of a character split between them, by the
+     * decoder. Malformed input is replaced rather than failing the whole load.
+     */
+    private void read()
+    {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocate(chunkSize);
+        CharBuffer chars = CharBuffer.allocate(chunkSize);
+        StringBuilder line = new StringBuilder();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            totalBytes = channel.size();
+            boolean endOfInput = false;
+            while (!endOfInput)
+            {
+                if (cancelled)
+                {
+                    throw new CancellationException("loading " + file);
+                }
+
+                int read = channel.read(bytes);
+                endOfInput = read < 0;
+                bytes.flip();
+                CoderResult result;
+                do
+                {
+                    result = decoder.decode(bytes, chars, endOfInput);
+                    addLines(chars, line);
+                }
+                while (result.isOverflow());
+                bytes.compact();
+
+                if (read > 0)
+                {
+                    bytesRead += read;
+                }
+                if (endOfInput)
+                {
+                    decoder.flush(chars);
+                    addLines(chars, line);
+                    if (line.length() > 0)
+                    {
+                        addLine(line);
+                    }
+                }
+                reportProgress();
+            }
+            loaded.complete(valueCount);
+        }
+        catch (IOException e)
+        {
+            loaded.completeExceptionally(new UncheckedIOException(e));
+        }
+        catch (RuntimeException e)
+        {
+            loaded.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Adds the complete lines among the decoded characters, keeps the rest in the
+     * line builder and empties the buffer.
+     */
+    private void addLines(final CharBuffer chars, final StringBuilder line)
+    {
+        char[] array = chars.array();
+        int start = chars.arrayOffset();
+        int end = start + chars.position();
+        for (int i = start; i < end; i++)
+        {
+            if (array[i] == '\n')
+            {
+                line.append(array, start, i - start);
+                addLine(line);
+                start = i + 1;
+            }
+        }
+        line.append(array, start, end - start);
+        chars.clear();
+    }
+
+    private void addLine(final StringBuilder line)
+    {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r')
+        {
+            length--;
+        }
+        int start = valueCount == 0 && length > 0 && line.charAt(0) == '\uFEFF' ? 1 : 0;
+        if (length > start)
+        {
+            add(line.substring(start, length));
+        }
+        line.setLength(0);
+    }
+
+    private void add(final String value)
+    {
+        int index = valueCount;
+        int segment = index >>> SEGMENT_BITS;
+        String[][] values = valueSegments;
+        String[][] keys = keySegments;
+        if (segment == values.length)
+        {
+            // only the small arrays of segments are copied, never the values
+            values = Arrays.copyOf(values, segment + 1);
+            keys = Arrays.copyOf(keys, segment + 1);
+            values[segment] = new String[SEGMENT_SIZE];
+            keys[segment] = new String[SEGMENT_SIZE];
+            valueSegments = values;
+            keySegments = keys;
+        }
+        values[segment][index & (SEGMENT_SIZE - 1)] = value;
+        keys[segment][index & (SEGMENT_SIZE - 1)] = folding.fold(value);
+        valueCount = index + 1;
+    }
+
+    private void reportProgress()
+    {
+        ProgressListener listener = progressListener;
+        if (listener != null)
+        {
+            listener.progress(valueCount, bytesRead, totalBytes);
+        }
+    }
+}
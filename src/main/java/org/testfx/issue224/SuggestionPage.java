@@ -0,0 +1,83 @@
+package org.testfx.issue224;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of suggestions returned by a {@link SuggestionProvider}.
+ */
+public final class SuggestionPage<T>
+{
+    private final List<T> items;
+
+    private final int[] valueIndexes;
+
+    private final int[] matchRanges;
+
+    private final boolean hasMore;
+
+    public SuggestionPage(final List<T> items, final int[] valueIndexes, final boolean hasMore)
+    {
+        this(items, valueIndexes, null, hasMore);
+    }
+
+    /**
+     * @param items the suggestions, in display order
+     * @param valueIndexes the index of every item in the values of the control,
+     *     used to record selections; null if the items do not come from those values
+     * @param matchRanges the start and end offset of the match in the key of every
+     *     item, as consecutive pairs; null if the provider does not report them
+     * @param hasMore true if there are more matches after this page
+     */
+    public SuggestionPage(final List<T> items, final int[] valueIndexes, final int[] matchRanges,
+                          final boolean hasMore)
+    {
+        if (valueIndexes != null && valueIndexes.length != items.size())
+        {
+            throw new IllegalArgumentException("expected " + items.size() + " value indexes but got "
+                + valueIndexes.length);
+        }
+        if (matchRanges != null && matchRanges.length != 2 * items.size())
+        {
+            throw new IllegalArgumentException("expected " + 2 * items.size() + " match offsets but got "
+                + matchRanges.length);
+        }
+        this.items = Collections.unmodifiableList(items);
+        this.valueIndexes = valueIndexes;
+        this.matchRanges = matchRanges;
+        this.hasMore = hasMore;
+    }
+
+    public List<T> getItems()
+    {
+        return items;
+    }
+
+    public int[] getValueIndexes()
+    {
+        return valueIndexes;
+    }
+
+    /**
+     * Returns the offset in the key of the given item where the match starts, or
+     * -1 if the provider did not report it.
+     */
+    public int getMatchStart(final int index)
+    {
+        return matchRanges == null ? -1 : matchRanges[2 * index];
+    }
+
+    /**
+     * Returns the offset in the key of the given item where the match ends, or
+     * -1 if the provider did not report it.
+     */
+    public int getMatchEnd(final int index)
+    {
+        return matchRanges == null ? -1 : matchRanges[2 * index + 1];
+    }
+
+    public boolean hasMore()
+    {
+        return hasMore;
+    }
+}
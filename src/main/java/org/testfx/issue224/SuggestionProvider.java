@@ -0,0 +1,24 @@
+package org.testfx.issue224;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Supplies the suggestions shown by an {@link AutoCompleteComboBox}.
+ * <p>
+ * The control calls {@link #suggest(SuggestionQuery)} on the JavaFX application
+ * thread with every change of the query, but never has more than one lookup
+ * outstanding: while a lookup is running, newer queries are coalesced and the
+ * running one is {@linkplain SuggestionQuery#cancel() cancelled}. Implementations
+ * that do their work on another thread should poll
+ * {@link SuggestionQuery#isCancelled()} and stop early once it returns true.
+ * Implementations that can answer immediately should return an already completed
+ * future, in which case the popup is updated before the key event returns. A
+ * lookup that completes exceptionally shows no suggestions and is logged.
+ *
+ * @param <T> the type of the suggested values
+ */
+@FunctionalInterface
+public interface SuggestionProvider<T>
+{
+    CompletableFuture<SuggestionPage<T>> suggest(SuggestionQuery query);
+}
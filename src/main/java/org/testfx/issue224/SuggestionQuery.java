@@ -0,0 +1,187 @@
+package org.testfx.issue224;
+
+import java.util.Locale;
+import java.util.Objects;
+
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+
+/**
+ * A request for one page of suggestions. The text has already been normalized
+ * with the {@linkplain #getFolding() folding} of the query, so providers only have
+ * to normalize their own values the same way.
+ */
+public final class SuggestionQuery
+{
+    private final String text;
+
+    private final AutoCompleteMode mode;
+
+    private final KeyFolding folding;
+
+    private final int offset;
+
+    private final int limit;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a query whose text is normalized for the default locale.
+     */
+    public SuggestionQuery(final String text, final AutoCompleteMode mode, final boolean foldAccentMarks,
+                           final int offset, final int limit)
+    {
+        this(text, mode, KeyFolding.of(Locale.getDefault(), foldAccentMarks), offset, limit);
+    }
+
+    public SuggestionQuery(final String text, final AutoCompleteMode mode, final KeyFolding folding,
+                           final int offset, final int limit)
+    {
+        if (offset < 0 || limit < 0)
+        {
+            throw new IllegalArgumentException("offset and limit must not be negative: " + offset + ", " + limit);
+        }
+        this.text = Objects.requireNonNull(text, "text");
+        this.mode = Objects.requireNonNull(mode, "mode");
+        this.folding = Objects.requireNonNull(folding, "folding");
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Normalizes the given text for matching in the default locale: the case is
+     * folded and so are accent marks, if enabled. See {@link KeyFolding}.
+     */
+    public static String normalize(final String text, final boolean foldAccentMarks)
+    {
+        return KeyFolding.of(Locale.getDefault(), foldAccentMarks).fold(text);
+    }
+
+    /**
+     * Maps an offset into the normalized form of {@code value} back to an offset
+     * into {@code value}, see {@link KeyFolding#toOriginalOffset}.
+     */
+    public static int toOriginalOffset(final String value, final String normalizedValue,
+                                       final boolean foldAccentMarks, final int offset, final boolean rangeEnd)
+    {
+        return KeyFolding.of(Locale.getDefault(), foldAccentMarks).toOriginalOffset(value, normalizedValue, offset,
+            rangeEnd);
+    }
+
+    /**
+     * Normalizes the given value the same way as the text of this query.
+     */
+    public String normalize(final String value)
+    {
+        return folding.fold(value);
+    }
+
+    /**
+     * Returns true if the given value, normalized with {@link #normalize(String)},
+     * matches this query.
+     */
+    public boolean matches(final String normalizedValue)
+    {
+        return indexIn(normalizedValue) >= 0;
+    }
+
+    /**
+     * Returns the offset of the first match of this query in the given normalized
+     * value, or -1 if it does not match.
+     */
+    public int indexIn(final String normalizedValue)
+    {
+        if (mode == AutoCompleteMode.STARTS_WITH)
+        {
+            return normalizedValue.startsWith(text) ? 0 : -1;
+        }
+        return normalizedValue.indexOf(text);
+    }
+
+    public String getText()
+    {
+        return text;
+    }
+
+    public AutoCompleteMode getMode()
+    {
+        return mode;
+    }
+
+    public boolean isFoldAccentMarks()
+    {
+        return folding.isFoldAccentMarks();
+    }
+
+    public Locale getLocale()
+    {
+        return folding.getLocale();
+    }
+
+    /**
+     * The case and accent folding the text was normalized with; instances are
+     * shared, so queries normalized the same way have the same folding.
+     */
+    public KeyFolding getFolding()
+    {
+        return folding;
+    }
+
+    /**
+     * The number of matches to skip before the first one in the page.
+     */
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    /**
+     * The maximum number of matches in the page.
+     */
+    public int getLimit()
+    {
+        return limit;
+    }
+
+    /**
+     * Returns true once the query has been superseded and its results will be
+     * discarded.
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    void cancel()
+    {
+        cancelled = true;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof SuggestionQuery))
+        {
+            return false;
+        }
+        SuggestionQuery other = (SuggestionQuery) o;
+        return text.equals(other.text) && mode == other.mode && folding == other.folding
+            && offset == other.offset && limit == other.limit;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(text, mode, folding.getLocale(), folding.isFoldAccentMarks(), offset, limit);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SuggestionQuery[" + text + ", " + mode + ", " + getLocale().toLanguageTag() + ", fold="
+            + isFoldAccentMarks() + ", offset=" + offset + ", limit=" + limit + "]";
+    }
+}
@@ -0,0 +1,172 @@
+package org.testfx.issue224;
+
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.application.Platform;
+
+/**
+ * Sends queries to a {@link SuggestionProvider} so that at most one lookup is
+ * outstanding at any time. A query equal to the running one is dropped; any other
+ * query cancels the running one and waits for it to finish. Queries arriving in
+ * the meantime replace each other, so only the latest one is looked up next.
+ * <p>
+ * A {@linkplain #refresh(SuggestionQuery) refresh} is never dropped and does not
+ * cancel the running lookup, whose results are still shown: it is looked up again
+ * afterwards because the suggestions of the provider have changed since.
+ * <p>
+ * A lookup that fails, rather than being cancelled, is logged and passes an empty
+ * page to the consumer, so that no suggestions of an earlier query stay shown.
+ * <p>
+ * Must only be used from the JavaFX application thread.
+ */
+class SuggestionRequestQueue<T>
+{
+    private static final Logger LOGGER = Logger.getLogger(SuggestionRequestQueue.class.getName());
+
+    private final BiConsumer<SuggestionQuery, SuggestionPage<T>> consumer;
+
+    private SuggestionProvider<T> provider;
+
+    private SuggestionQuery inFlight;
+
+    private SuggestionQuery pending;
+
+    SuggestionRequestQueue(final SuggestionProvider<T> provider,
+                           final BiConsumer<SuggestionQuery, SuggestionPage<T>> consumer)
+    {
+        this.provider = provider;
+        this.consumer = consumer;
+    }
+
+    SuggestionProvider<T> getProvider()
+    {
+        return provider;
+    }
+
+    /**
+     * Replaces the provider, cancelling the running lookup and dropping the pending
+     * one, which were both meant for the previous provider.
+     */
+    void setProvider(SuggestionProvider<T> provider)
+    {
+        this.provider = provider;
+        if (inFlight != null)
+        {
+            inFlight.cancel();
+        }
+        pending = null;
+    }
+
+    boolean isBusy()
+    {
+        return inFlight != null;
+    }
+
+    void submit(final SuggestionQuery query)
+    {
+        if (inFlight == null)
+        {
+            start(query);
+            return;
+        }
+
+        if (pending == null && !inFlight.isCancelled() && inFlight.equals(query))
+        {
+            return;
+        }
+
+        inFlight.cancel();
+        pending = query;
+    }
+
+    /**
+     * Looks up the given query once the running lookup, if any, has completed,
+     * even if it is equal to that one.
+     */
+    void refresh(final SuggestionQuery query)
+    {
+        if (inFlight == null)
+        {
+            start(query);
+        }
+        else
+        {
+            pending = query;
+        }
+    }
+
+    private void start(final SuggestionQuery query)
+    {
+        inFlight = query;
+
+        CompletableFuture<SuggestionPage<T>> future;
+        try
+        {
+            future = provider.suggest(query);
+        }
+        catch (RuntimeException e)
+        {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+
+        if (future.isDone())
+        {
+            complete(query, future);
+        }
+        else
+        {
+            CompletableFuture<SuggestionPage<T>> running = future;
+            running.whenComplete((page, error) -> Platform.runLater(() -> complete(query, running)));
+        }
+    }
+
+    private void complete(final SuggestionQuery query, final CompletableFuture<SuggestionPage<T>> future)
+    {
+        inFlight = null;
+
+        if (future.isCompletedExceptionally())
+        {
+            Throwable failure = failure(future);
+            if (!query.isCancelled() && !(failure instanceof CancellationException))
+            {
+                LOGGER.log(Level.WARNING, "Looking up suggestions for " + query + " failed", failure);
+                consumer.accept(query, new SuggestionPage<>(Collections.<T>emptyList(), null, false));
+            }
+        }
+        else if (!query.isCancelled())
+        {
+            consumer.accept(query, future.join());
+        }
+
+        if (pending != null)
+        {
+            SuggestionQuery next = pending;
+            pending = null;
+            start(next);
+        }
+    }
+
+    private static Throwable failure(final CompletableFuture<?> future)
+    {
+        try
+        {
+            future.join();
+            return null;
+        }
+        catch (CompletionException e)
+        {
+            return e.getCause() != null ? e.getCause() : e;
+        }
+        catch (CancellationException e)
+        {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package org.testfx.issue224;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recency/frequency weighted selection counters, keyed by value index.
+ * <p>
+ * Each selection adds a weight of {@code 2^((now - origin) / halfLife)} to the
+ * counter of the selected index, so that older selections are worth half as much
+ * as new ones after every half-life. Because every counter is scaled by the same
+ * factor the raw counters can be compared with each other directly, which means
+ * no counter ever has to be touched again to apply the decay.
+ * <p>
+ * Instances are not thread-safe and are meant to be confined to the JavaFX
+ * application thread; {@link #flush(Path)} takes a snapshot before handing
+ * the write to a background thread.
+ */
+public class UsageStatistics
+{
+    public static final long DEFAULT_HALF_LIFE_MILLIS = TimeUnit.DAYS.toMillis(14);
+
+    private static final int MAGIC = 0x41435553; // "ACUS"
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Once the weight of a new selection grows beyond {@code 2^MAX_EXPONENT} all
+     * counters are rescaled so that the floats do not overflow.
+     */
+    private static final int MAX_EXPONENT = 64;
+
+    /**
+     * Single daemon thread used for all reads and writes so that the JavaFX
+     * application thread never waits on I/O and writes happen in order.
+     */
+    private static final ExecutorService IO_EXECUTOR = Executors.newSingleThreadExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "autocomplete-usage-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final float[] scores;
+
+    private final long fingerprint;
+
+    private final long halfLifeMillis;
+
+    private long originMillis;
+
+    private int usedCount;
+
+    /**
+     * Counts the changes to the scores, so that matches ranked by them can tell
+     * whether they are still in order.
+     */
+    private int modCount;
+
+    public UsageStatistics(final int size, final long fingerprint)
+    {
+        this(size, fingerprint, DEFAULT_HALF_LIFE_MILLIS, System.currentTimeMillis());
+    }
+
+    public UsageStatistics(final int size, final long fingerprint, final long halfLifeMillis, final long originMillis)
+    {
+        if (halfLifeMillis <= 0)
+        {
+            throw new IllegalArgumentException("halfLifeMillis must be positive: " + halfLifeMillis);
+        }
+        this.scores = new float[size];
+        this.fingerprint = fingerprint;
+        this.halfLifeMillis = halfLifeMillis;
+        this.originMillis = originMillis;
+    }
+
+    public int size()
+    {
+        return scores.length;
+    }
+
+    public long getFingerprint()
+    {
+        return fingerprint;
+    }
+
+    /**
+     * Returns true if at least one index has been recorded.
+     */
+    public boolean hasUsage()
+    {
+        return usedCount > 0;
+    }
+
+    /**
+     * Returns a number that changes whenever a score changes.
+     */
+    int getModCount()
+    {
+        return modCount;
+    }
+
+    public void record(final int index)
+    {
+        record(index, System.currentTimeMillis());
+    }
+
+    public void record(final int index, final long nowMillis)
+    {
+        double exponent = (double) (nowMillis - originMillis) / halfLifeMillis;
+        if (exponent > MAX_EXPONENT)
+        {
+            rebase(nowMillis);
+            exponent = 0;
+        }
+        if (scores[index] == 0)
+        {
+            usedCount++;
+        }
+        scores[index] += (float) Math.pow(2, exponent);
+        modCount++;
+    }
+
+    /**
+     * Returns the raw, undecayed score of the given index. Raw scores are only
+     * meaningful relative to each other; zero means the index was never recorded.
+     */
+    public float score(final int index)
+    {
+        return scores[index];
+    }
+
+    /**
+     * Returns the number of selections of the given index, with every selection
+     * weighted by its age at {@code nowMillis}.
+     */
+    public double decayedCount(final int index, final long nowMillis)
+    {
+        return scores[index] * Math.pow(2, -(double) (nowMillis - originMillis) / halfLifeMillis);
+    }
+
+    /**
+     * Adds the counters of {@code other} to this instance. Used to combine
+     * selections made while the persisted statistics were still loading.
+     * <p>
+     * Both sides are first rebased to the later of their origins, each with its
+     * own half-life, so however far apart they are the scores are only ever
+     * scaled down.
+     */
+    public void merge(final UsageStatistics other)
+    {
+        if (other.scores.length != scores.length)
+        {
+            throw new IllegalArgumentException("cannot merge statistics of size " + other.scores.length
+                + " into statistics of size " + scores.length);
+        }
+        long commonOriginMillis = Math.max(originMillis, other.originMillis);
+        rebase(commonOriginMillis);
+        float scale = (float) Math.pow(2, -(double) (commonOriginMillis - other.originMillis) / other.halfLifeMillis);
+        for (int i = 0; i < scores.length; i++)
+        {
+            scores[i] += other.scores[i] * scale;
+        }
+        usedCount = countUsed();
+        modCount++;
+    }
+
+    public UsageStatistics copy()
+    {
+        UsageStatistics copy = new UsageStatistics(scores.length, fingerprint, halfLifeMillis, originMillis);
+        System.arraycopy(scores, 0, copy.scores, 0, scores.length);
+        copy.usedCount = usedCount;
+        return copy;
+    }
+
+    /**
+     * Writes a snapshot of the counters to {@code file} on a background thread.
+     * The file is replaced atomically so a crash never leaves it half-written.
+     */
+    public CompletableFuture<Void> flush(final Path file)
+    {
+        return flush(file, IO_EXECUTOR);
+    }
+
+    public CompletableFuture<Void> flush(final Path file, final Executor executor)
+    {
+        UsageStatistics snapshot = copy();
+        return CompletableFuture.runAsync(() ->
+        {
+            try
+            {
+                snapshot.write(file);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Reads the counters stored in {@code file} on a background thread. If the
+     * file does not exist, was written for a different set of values or is
+     * corrupt, empty statistics are returned.
+     */
+    public static CompletableFuture<UsageStatistics> load(final Path file, final int size, final long fingerprint)
+    {
+        return load(file, size, fingerprint, IO_EXECUTOR);
+    }
+
+    public static CompletableFuture<UsageStatistics> load(final Path file, final int size, final long fingerprint,
+                                                          final Executor executor)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                return read(file, size, fingerprint);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Computes a cheap fingerprint of the values so that statistics recorded for
+     * one list are not applied to another.
+     */
+    public static long fingerprint(final Iterable<?> values)
+    {
+        long hash = 1125899906842597L;
+        for (Object value : values)
+        {
+            hash = 31 * hash + (value == null ? 0 : value.hashCode());
+        }
+        return hash;
+    }
+
+    private void rebase(final long nowMillis)
+    {
+        float scale = (float) Math.pow(2, -(double) (nowMillis - originMillis) / halfLifeMillis);
+        for (int i = 0; i < scores.length; i++)
+        {
+            scores[i] *= scale;
+        }
+        originMillis = nowMillis;
+        // scaling down can round the scores of old selections to zero
+        usedCount = countUsed();
+    }
+
+    private int countUsed()
+    {
+        int count = 0;
+        for (float score : scores)
+        {
+            if (score != 0)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void write(final Path file) throws IOException
+    {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(scores.length);
+            out.writeLong(fingerprint);
+            out.writeLong(halfLifeMillis);
+            out.writeLong(originMillis);
+            out.writeInt(usedCount);
+            for (int i = 0; i < scores.length; i++)
+            {
+                if (scores[i] != 0)
+                {
+                    out.writeInt(i);
+                    out.writeFloat(scores[i]);
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the counters stored in {@code file}, returning empty statistics if it
+     * does not exist, was written for other values or is corrupt.
+     */
+    private static UsageStatistics read(final Path file, final int size, final long fingerprint) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readInt() != size
+                || in.readLong() != fingerprint)
+            {
+                return new UsageStatistics(size, fingerprint);
+            }
+            long halfLifeMillis = in.readLong();
+            long originMillis = in.readLong();
+            int entryCount = in.readInt();
+            if (halfLifeMillis <= 0 || entryCount < 0 || entryCount > size)
+            {
+                return new UsageStatistics(size, fingerprint);
+            }
+            UsageStatistics statistics = new UsageStatistics(size, fingerprint, halfLifeMillis, originMillis);
+            for (int i = 0; i < entryCount; i++)
+            {
+                int index = in.readInt();
+                float score = in.readFloat();
+                if (index < 0 || index >= size || !(score > 0) || Float.isInfinite(score))
+                {
+                    return new UsageStatistics(size, fingerprint);
+                }
+                if (statistics.scores[index] == 0)
+                {
+                    statistics.usedCount++;
+                }
+                statistics.scores[index] = score;
+            }
+            return statistics;
+        }
+        catch (NoSuchFileException | EOFException e)
+        {
+            return new UsageStatistics(size, fingerprint);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.testfx.issue224;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Replaces the no-op event of the base version when running on Java 11 or later.
+ */
+@Name("org.testfx.issue224.IndexBuild")
+@Label("Auto-Complete Index Build")
+@Description("Normalization of the keys of all values for a locale and accent folding setting")
+@Category({"JavaFX", "Auto-Complete"})
+@Enabled(false)
+@StackTrace(false)
+final class IndexBuildEvent extends Event
+{
+    @Label("Key Count")
+    int keyCount;
+
+    @Label("Locale")
+    String locale;
+
+    @Label("Fold Accent Marks")
+    boolean foldAccentMarks;
+}
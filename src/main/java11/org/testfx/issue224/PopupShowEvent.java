@@ -0,0 +1,27 @@
+package org.testfx.issue224;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Replaces the no-op event of the base version when running on Java 11 or later.
+ */
+@Name("org.testfx.issue224.PopupShow")
+@Label("Auto-Complete Popup Show")
+@Description("The popup being shown with new suggestions")
+@Category({"JavaFX", "Auto-Complete"})
+@Enabled(false)
+@StackTrace(false)
+final class PopupShowEvent extends Event
+{
+    @Label("Item Count")
+    int itemCount;
+
+    @Label("Visible Row Count")
+    int visibleRowCount;
+}
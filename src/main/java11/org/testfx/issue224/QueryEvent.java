@@ -0,0 +1,36 @@
+package org.testfx.issue224;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Replaces the no-op event of the base version when running on Java 11 or later.
+ */
+@Name("org.testfx.issue224.Query")
+@Label("Auto-Complete Query")
+@Description("From the typed text being submitted to the popup showing its suggestions")
+@Category({"JavaFX", "Auto-Complete"})
+@Enabled(false)
+@StackTrace(false)
+final class QueryEvent extends Event
+{
+    @Label("Query Length")
+    int queryLength;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Fold Accent Marks")
+    boolean foldAccentMarks;
+
+    @Label("Result Size")
+    int resultSize;
+
+    @Label("Has More")
+    boolean hasMore;
+}
@@ -0,0 +1,80 @@
+package org.testfx.issue224;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Compares the first and the last byte of the needle with a whole vector of
+ * candidate positions at once and only compares the rest of the needle where
+ * both are equal.
+ * <p>
+ * Loaded reflectively by {@link ContainsKernel#load()}, which falls back to the
+ * scalar path if the incubator module is missing or the hardware has no useful
+ * vector width.
+ */
+final class VectorContainsKernel implements ContainsKernel
+{
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    VectorContainsKernel()
+    {
+        if (SPECIES.length() < 16)
+        {
+            throw new UnsupportedOperationException("no vector support: " + SPECIES);
+        }
+    }
+
+    @Override
+    public int indexOf(byte[] haystack, int from, int to, byte[] needle)
+    {
+        int n = needle.length;
+        int lastStart = to - n;
+        ByteVector first = ByteVector.broadcast(SPECIES, needle[0]);
+        ByteVector last = ByteVector.broadcast(SPECIES, needle[n - 1]);
+
+        int i = from;
+        for (; i + n - 1 + SPECIES.length() <= to; i += SPECIES.length())
+        {
+            ByteVector firstBlock = ByteVector.fromArray(SPECIES, haystack, i);
+            ByteVector lastBlock = ByteVector.fromArray(SPECIES, haystack, i + n - 1);
+            // anyTrue() is intrinsified everywhere, unlike turning the mask into bits,
+            // so candidates are located with scalar code, which is rare for all but
+            // very short needles
+            if (firstBlock.compare(VectorOperators.EQ, first)
+                .and(lastBlock.compare(VectorOperators.EQ, last))
+                .anyTrue())
+            {
+                for (int start = i; start < i + SPECIES.length(); start++)
+                {
+                    if (haystack[start] == needle[0] && haystack[start + n - 1] == needle[n - 1]
+                        && regionMatches(haystack, start, needle))
+                    {
+                        return start;
+                    }
+                }
+            }
+        }
+
+        for (; i <= lastStart; i++)
+        {
+            if (haystack[i] == needle[0] && regionMatches(haystack, i, needle))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(byte[] haystack, int start, byte[] needle)
+    {
+        for (int j = 1; j < needle.length; j++)
+        {
+            if (haystack[start + j] != needle[j])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
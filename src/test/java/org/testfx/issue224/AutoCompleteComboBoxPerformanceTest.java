@@ -0,0 +1,309 @@
+package org.testfx.issue224;
+
+import java.util.Arrays;
+import java.util.List;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays typing scripts against a large generated vocabulary and fails when the
+ * time from a key release to the updated popup exceeds the budgets. Excluded from
+ * the default build, run with {@code mvn test -Pperformance}. The vocabulary size
+ * and budgets can be overridden with the system properties
+ * {@code performance.vocabularySize}, {@code performance.budget.p95Millis} and
+ * {@code performance.budget.maxMillis}; the popup uses the fixed cell size given
+ * by {@code performance.fixedCellSize}, 0 to measure every row. The latencies are
+ * printed with {@code -Dperformance.report=true}.
+ */
+public class AutoCompleteComboBoxPerformanceTest extends ApplicationTest
+{
+    static final int VOCABULARY_SIZE = Integer.getInteger("performance.vocabularySize", 100000);
+
+    static final double BUDGET_P95_MILLIS = Double.parseDouble(System.getProperty("performance.budget.p95Millis", "100"));
+
+    static final double BUDGET_MAX_MILLIS = Double.parseDouble(System.getProperty("performance.budget.maxMillis", "300"));
+
+    static final double FIXED_CELL_SIZE = Double.parseDouble(System.getProperty("performance.fixedCellSize", "24"));
+
+    static final boolean REPORT = Boolean.getBoolean("performance.report");
+
+    static final long LAYOUT_TIMEOUT_MILLIS = 1000;
+
+    static final List<String> vocabulary = TestVocabulary.generate(VOCABULARY_SIZE, 42);
+
+    AutoCompleteComboBox<String> autoCompleteComboBox;
+
+    KeyStrokeLatencies latencies;
+
+    @Override
+    public void start(Stage stage) throws Exception
+    {
+        autoCompleteComboBox = new AutoCompleteComboBox<>(vocabulary);
+        autoCompleteComboBox.setFixedCellSize(FIXED_CELL_SIZE);
+        latencies = new KeyStrokeLatencies();
+        latencies.attach(autoCompleteComboBox);
+        autoCompleteComboBox.requestFocus();
+        StackPane root = new StackPane(autoCompleteComboBox);
+        Scene scene = new Scene(root, 400, 600);
+
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    @Before
+    public void warmUp()
+    {
+        // the first query of each accent folding setting normalizes the keys, which
+        // is not a key stroke cost
+        interact(() -> autoCompleteComboBox.setFoldAccentMarks(false));
+        type("ca");
+        backspace(2);
+        interact(() -> autoCompleteComboBox.setFoldAccentMarks(true));
+        type("ca");
+        backspace(2);
+        latencies.reset();
+    }
+
+    @After
+    public void clear()
+    {
+        interact(() -> autoCompleteComboBox.getComboBox().getEditor().clear());
+    }
+
+    @Test
+    public void fastTyping()
+    {
+        for (String word : Arrays.asList("caramel", "lunesta", "dora mi", "pesonar"))
+        {
+            type(word);
+            backspace(word.length());
+        }
+
+        assertWithinBudget("fast typing");
+    }
+
+    @Test
+    public void paste()
+    {
+        for (String text : Arrays.asList("ca", "lune", "ma", "ko", "est"))
+        {
+            interact(() ->
+            {
+                ClipboardContent content = new ClipboardContent();
+                content.putString(text);
+                Clipboard.getSystemClipboard().setContent(content);
+            });
+            push(KeyCode.CONTROL, KeyCode.V);
+            type("r");
+            interact(() -> autoCompleteComboBox.getComboBox().getEditor().clear());
+        }
+
+        assertWithinBudget("paste");
+    }
+
+    @Test
+    public void backspaceBursts()
+    {
+        for (int i = 0; i < 5; i++)
+        {
+            type("saberto");
+            backspace(7);
+        }
+
+        assertWithinBudget("backspace bursts");
+    }
+
+    @Test
+    public void modeSwitches()
+    {
+        for (int i = 0; i < 5; i++)
+        {
+            interact(() -> autoCompleteComboBox.setAutoCompleteMode(AutoCompleteMode.STARTS_WITH));
+            type("ra");
+            interact(() -> autoCompleteComboBox.setAutoCompleteMode(AutoCompleteMode.CONTAINS));
+            type("ne");
+            interact(() -> autoCompleteComboBox.setFoldAccentMarks(false));
+            backspace(2);
+            interact(() -> autoCompleteComboBox.setFoldAccentMarks(true));
+            backspace(2);
+        }
+
+        assertWithinBudget("mode switches");
+    }
+
+    private void type(String text)
+    {
+        for (char c : text.toCharArray())
+        {
+            KeyCode keyCode = c == ' ' ? KeyCode.SPACE : KeyCode.getKeyCode(String.valueOf(Character.toUpperCase(c)));
+            press(keyCode);
+            release(keyCode);
+            awaitLayout();
+        }
+    }
+
+    private void backspace(int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            press(KeyCode.BACK_SPACE);
+            release(KeyCode.BACK_SPACE);
+            awaitLayout();
+        }
+    }
+
+    /**
+     * Waits for the popup to be laid out after a key release, which happens in the
+     * next pulse, so that the next key stroke does not discard the measurement.
+     */
+    private void awaitLayout()
+    {
+        long deadline = System.nanoTime() + LAYOUT_TIMEOUT_MILLIS * 1000000;
+        while (latencies.isAwaitingLayout() && System.nanoTime() < deadline)
+        {
+            sleep(1);
+        }
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    private static void sleep(long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void assertWithinBudget(String script)
+    {
+        if (REPORT)
+        {
+            System.out.println(String.format("%s (%d values): %s", script, VOCABULARY_SIZE, latencies));
+        }
+
+        assertThat(latencies.count()).isGreaterThan(0);
+        assertThat(latencies.percentileMillis(95)).as(script + " p95 ms").isLessThanOrEqualTo(BUDGET_P95_MILLIS);
+        assertThat(latencies.percentileMillis(100)).as(script + " max ms").isLessThanOrEqualTo(BUDGET_MAX_MILLIS);
+    }
+
+    /**
+     * Measures, on the JavaFX application thread, the time from the start of the
+     * dispatch of a KEY_RELEASED event to the end of the layout of the popup list,
+     * for every key release that updated the suggestions. The list is laid out in
+     * the next pulse; if it does not need to be, because the popup is hidden or
+     * did not change, the time to the end of the handling of the event is taken.
+     */
+    static class KeyStrokeLatencies
+    {
+        private long[] samples = new long[256];
+        private int count;
+        private long releasedAt;
+        private boolean updated;
+        private volatile boolean awaitingLayout;
+        private ListView<?> popupList;
+
+        void attach(AutoCompleteComboBox<?> autoCompleteComboBox)
+        {
+            autoCompleteComboBox.getComboBox().addEventFilter(KeyEvent.KEY_RELEASED, event ->
+            {
+                releasedAt = System.nanoTime();
+                updated = false;
+                awaitingLayout = false;
+            });
+            autoCompleteComboBox.currentPageProperty().addListener((observable, oldPage, newPage) -> updated = true);
+            // registered after the handler of the control, so it runs once the popup has been updated
+            autoCompleteComboBox.getComboBox().addEventHandler(KeyEvent.KEY_RELEASED, event ->
+            {
+                if (!updated)
+                {
+                    return;
+                }
+                listenToLayout(autoCompleteComboBox.getPopupList());
+                if (popupList != null && autoCompleteComboBox.getComboBox().isShowing() && popupList.isNeedsLayout())
+                {
+                    awaitingLayout = true;
+                }
+                else
+                {
+                    add(System.nanoTime() - releasedAt);
+                }
+            });
+        }
+
+        private void listenToLayout(ListView<?> list)
+        {
+            if (list == null || list == popupList)
+            {
+                return;
+            }
+            popupList = list;
+            // cleared once the list and everything in it have been laid out
+            list.needsLayoutProperty().addListener((observable, needed, needs) ->
+            {
+                if (!needs && awaitingLayout)
+                {
+                    awaitingLayout = false;
+                    add(System.nanoTime() - releasedAt);
+                }
+            });
+        }
+
+        boolean isAwaitingLayout()
+        {
+            return awaitingLayout;
+        }
+
+        void reset()
+        {
+            count = 0;
+        }
+
+        int count()
+        {
+            return count;
+        }
+
+        double percentileMillis(double percentile)
+        {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))] / 1e6;
+        }
+
+        private void add(long nanos)
+        {
+            if (count == samples.length)
+            {
+                samples = Arrays.copyOf(samples, 2 * count);
+            }
+            samples[count++] = nanos;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("n=%d p50=%.2fms p95=%.2fms max=%.2fms", count, percentileMillis(50),
+                percentileMillis(95), percentileMillis(100));
+        }
+    }
+}
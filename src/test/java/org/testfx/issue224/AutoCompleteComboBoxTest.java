@@ -3,9 +3,13 @@ package org.testfx.issue224;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import javafx.scene.Node;
 import javafx.scene.Scene;
+import javafx.scene.control.ListCell;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.StackPane;
+import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 import org.junit.Test;
@@ -15,12 +19,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class AutoCompleteComboBoxTest extends ApplicationTest
 {
-    AutoCompleteComboBox autoCompleteComboBox;
+    AutoCompleteComboBox<String> autoCompleteComboBox;
 
     @Override
     public void start(Stage stage) throws Exception
     {
-        autoCompleteComboBox = new AutoCompleteComboBox(fruits);
+        autoCompleteComboBox = new AutoCompleteComboBox<>(fruits);
         autoCompleteComboBox.setId("autocompletebox");
         autoCompleteComboBox.requestFocus();
         StackPane root = new StackPane(autoCompleteComboBox);
@@ -87,6 +91,96 @@ public class AutoCompleteComboBoxTest extends ApplicationTest
         assertThat(autoCompleteComboBox.getComboBox().getItems()).containsExactly("Apple");
     }
 
+    @Test
+    public void shouldRankFrequentlySelectedValuesFirst()
+    {
+        UsageStatistics usageStatistics = autoCompleteComboBox.getUsageStatistics();
+        usageStatistics.record(fruits.indexOf("Pineapple"));
+        usageStatistics.record(fruits.indexOf("Grape"));
+        usageStatistics.record(fruits.indexOf("Grape"));
+
+        press(KeyCode.P);
+        release(KeyCode.P);
+
+        assertThat(autoCompleteComboBox.getComboBox().getItems()).startsWith("Grape", "Pineapple", "Apple",
+                "Apricot", "Cantaloupe");
+    }
+
+    @Test
+    public void shouldRecordSelectionsPickedWithTheMouse()
+    {
+        press(KeyCode.A);
+        release(KeyCode.A);
+        press(KeyCode.P);
+        release(KeyCode.P);
+        press(KeyCode.P);
+        release(KeyCode.P);
+
+        Set<Node> cells = lookup(".list-cell").queryAll();
+        Node pineapple = cells.stream()
+                .filter(cell -> "Pineapple".equals(((ListCell<?>) cell).getText()))
+                .findFirst().get();
+        clickOn(pineapple);
+
+        assertThat(autoCompleteComboBox.getSelection()).isEqualTo("Pineapple");
+        UsageStatistics usageStatistics = autoCompleteComboBox.getUsageStatistics();
+        assertThat(usageStatistics.score(fruits.indexOf("Pineapple"))).isGreaterThan(0f);
+        assertThat(usageStatistics.score(fruits.indexOf("Apple"))).isEqualTo(0f);
+    }
+
+    @Test
+    public void shouldRecordOnlyTheCommittedSelectionWhenNavigating()
+    {
+        press(KeyCode.A);
+        release(KeyCode.A);
+        press(KeyCode.P);
+        release(KeyCode.P);
+        press(KeyCode.P);
+        release(KeyCode.P);
+
+        press(KeyCode.DOWN);
+        release(KeyCode.DOWN);
+        press(KeyCode.DOWN);
+        release(KeyCode.DOWN);
+        press(KeyCode.ENTER);
+        release(KeyCode.ENTER);
+
+        assertThat(autoCompleteComboBox.getSelection()).isEqualTo("Pineapple");
+        UsageStatistics usageStatistics = autoCompleteComboBox.getUsageStatistics();
+        assertThat(usageStatistics.score(fruits.indexOf("Pineapple"))).isGreaterThan(0f);
+        assertThat(usageStatistics.score(fruits.indexOf("Apple"))).isEqualTo(0f);
+    }
+
+    @Test
+    public void shouldCommitTypedTextThatIsNoValue()
+    {
+        for (KeyCode keyCode : new KeyCode[] {KeyCode.K, KeyCode.I, KeyCode.W, KeyCode.A, KeyCode.N, KeyCode.O})
+        {
+            press(keyCode);
+            release(keyCode);
+        }
+        press(KeyCode.ENTER);
+        release(KeyCode.ENTER);
+
+        assertThat(autoCompleteComboBox.getSelection()).isEqualTo("kiwano");
+    }
+
+    @Test
+    public void shouldHighlightMatchesInPopup()
+    {
+        interact(() -> autoCompleteComboBox.setHighlightMatches(true));
+
+        press(KeyCode.A);
+        release(KeyCode.A);
+        press(KeyCode.C);
+        release(KeyCode.C);
+
+        assertThat(autoCompleteComboBox.getComboBox().getItems()).containsExactly("Açaí", "Ackee", "Blackberry", "Peach");
+
+        Set<Text> matches = lookup(".match-highlighting-list-cell .match").queryAll();
+        assertThat(matches).extracting("text").contains("Aç", "Ac", "ac");
+    }
+
     public static List<String> fruits;
     static
     {
@@ -0,0 +1,116 @@
+package org.testfx.issue224;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opens a form holding hundreds of controls, all suggesting from the same
+ * values, and fails when the time to first paint or the heap retained per
+ * control exceeds the budgets. Excluded from the default build, run with
+ * {@code mvn test -Pperformance}. Overridable with the system properties
+ * {@code performance.form.controls}, {@code performance.form.values},
+ * {@code performance.form.budget.firstPaintMillis} and
+ * {@code performance.form.budget.bytesPerControl}, and the measurements are
+ * printed with {@code -Dperformance.report=true}.
+ */
+public class AutoCompleteFormPerformanceTest extends ApplicationTest
+{
+    static final int CONTROL_COUNT = Integer.getInteger("performance.form.controls", 300);
+
+    static final int VALUE_COUNT = Integer.getInteger("performance.form.values", 1000);
+
+    static final double BUDGET_FIRST_PAINT_MILLIS =
+        Double.parseDouble(System.getProperty("performance.form.budget.firstPaintMillis", "1500"));
+
+    static final long BUDGET_BYTES_PER_CONTROL =
+        Long.getLong("performance.form.budget.bytesPerControl", 100000);
+
+    static final List<String> values = TestVocabulary.generate(VALUE_COUNT, 42);
+
+    Stage stage;
+
+    @Override
+    public void start(Stage stage) throws Exception
+    {
+        this.stage = stage;
+        stage.setScene(new Scene(new StackPane(), 800, 600));
+        stage.show();
+    }
+
+    @Test
+    public void openForm()
+    {
+        // the first form pays for class loading and the default style sheet
+        interact(() -> showForm(createForm(CONTROL_COUNT)));
+        interact(() -> stage.getScene().setRoot(new StackPane()));
+
+        long heapBefore = usedHeapAfterGc();
+        long[] firstPaintNanos = new long[1];
+        // keeps the form reachable while the heap is measured
+        List<Parent> retained = new ArrayList<>();
+        interact(() ->
+        {
+            long start = System.nanoTime();
+            Parent form = createForm(CONTROL_COUNT);
+            showForm(form);
+            firstPaintNanos[0] = System.nanoTime() - start;
+            retained.add(form);
+        });
+        long bytesPerControl = (usedHeapAfterGc() - heapBefore) / CONTROL_COUNT;
+        double firstPaintMillis = firstPaintNanos[0] / 1e6;
+
+        if (AutoCompleteComboBoxPerformanceTest.REPORT)
+        {
+            System.out.println(String.format("form of %d controls with %d values: first paint %.1fms, %d bytes per control",
+                CONTROL_COUNT, VALUE_COUNT, firstPaintMillis, bytesPerControl));
+        }
+        assertThat(retained).hasSize(1);
+        assertThat(firstPaintMillis).as("first paint ms").isLessThanOrEqualTo(BUDGET_FIRST_PAINT_MILLIS);
+        assertThat(bytesPerControl).as("bytes per control").isLessThanOrEqualTo(BUDGET_BYTES_PER_CONTROL);
+    }
+
+    private static Parent createForm(int controlCount)
+    {
+        FlowPane form = new FlowPane();
+        for (int i = 0; i < controlCount; i++)
+        {
+            AutoCompleteComboBox<String> autoCompleteComboBox = new AutoCompleteComboBox<>(values);
+            autoCompleteComboBox.setFixedCellSize(24);
+            form.getChildren().add(autoCompleteComboBox);
+        }
+        return new ScrollPane(form);
+    }
+
+    /**
+     * Shows the form and renders it once, which includes applying CSS and
+     * laying it out.
+     */
+    private void showForm(Parent form)
+    {
+        stage.getScene().setRoot(form);
+        stage.getScene().snapshot(null);
+    }
+
+    private static long usedHeapAfterGc()
+    {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
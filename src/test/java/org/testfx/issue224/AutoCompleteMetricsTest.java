@@ -0,0 +1,72 @@
+package org.testfx.issue224;
+
+import java.lang.management.ManagementFactory;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AutoCompleteMetricsTest extends ApplicationTest
+{
+    AutoCompleteComboBox<String> autoCompleteComboBox;
+
+    AutoCompleteMetrics metrics = new AutoCompleteMetrics();
+
+    @Override
+    public void start(Stage stage) throws Exception
+    {
+        autoCompleteComboBox = new AutoCompleteComboBox<>(AutoCompleteComboBoxTest.fruits);
+        autoCompleteComboBox.setMetricsListener(metrics);
+        autoCompleteComboBox.requestFocus();
+        StackPane root = new StackPane(autoCompleteComboBox);
+        Scene scene = new Scene(root, 400, 600);
+
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    @After
+    public void unregister()
+    {
+        metrics.unregister();
+    }
+
+    @Test
+    public void shouldMeasureQueriesAndPopupUpdates() throws Exception
+    {
+        type(KeyCode.A, KeyCode.P, KeyCode.P);
+
+        assertThat(metrics.getQueryCount()).isEqualTo(3);
+        assertThat(metrics.getQueryLatencyMaxMicros()).isGreaterThan(0);
+        assertThat(metrics.getFilterTimeP99Micros()).isGreaterThan(0);
+        // every character after the first only scans the matches of the previous one
+        assertThat(metrics.getCandidatesScanned()).isEqualTo(72 + 46 + 8);
+        assertThat(metrics.getCandidatesMatched()).isEqualTo(46 + 8 + 3);
+        assertThat(metrics.getNarrowingHitRate()).isEqualTo(2.0 / 3);
+        assertThat(metrics.getKeyNormalizationCount()).isEqualTo(1);
+        assertThat(metrics.getPopupShowCount()).isEqualTo(3);
+        assertThat(metrics.getPopupHideCount()).isGreaterThanOrEqualTo(2);
+        assertThat(metrics.getPopupResizeCount()).isEqualTo(1);
+
+        ObjectName name = metrics.register("fruits");
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "QueryCount")).isEqualTo(3L);
+    }
+
+    @Test
+    public void shouldStopMeasuringWhenListenerIsRemoved()
+    {
+        interact(() -> autoCompleteComboBox.setMetricsListener(null));
+
+        type(KeyCode.A);
+
+        assertThat(metrics.getQueryCount()).isZero();
+        assertThat(metrics.getPopupShowCount()).isZero();
+    }
+}
@@ -0,0 +1,90 @@
+package org.testfx.issue224;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeferredComboBoxSkinTest extends ApplicationTest
+{
+    AutoCompleteComboBox<String> first;
+    AutoCompleteComboBox<String> second;
+    AutoCompleteComboBox<String> third;
+
+    @Override
+    public void start(Stage stage) throws Exception
+    {
+        first = new AutoCompleteComboBox<>(AutoCompleteComboBoxTest.fruits);
+        second = new AutoCompleteComboBox<>(AutoCompleteComboBoxTest.fruits);
+        second.setFixedCellSize(24);
+        second.getComboBox().setValue("Cherry");
+        third = new AutoCompleteComboBox<>(AutoCompleteComboBoxTest.fruits);
+        Scene scene = new Scene(new VBox(first, second, third), 400, 600);
+
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    @Test
+    public void shouldOnlyCreateDefaultSkinOfFocusedControl()
+    {
+        assertThat(first.getComboBox().isFocused()).isTrue();
+        assertThat(first.getComboBox().getSkin()).isNotInstanceOf(DeferredComboBoxSkin.class);
+        assertThat(first.getPopupList()).isNotNull();
+        assertThat(second.getComboBox().getSkin()).isInstanceOf(DeferredComboBoxSkin.class);
+        assertThat(second.getPopupList()).isNull();
+        assertThat(((Label) second.getComboBox().getChildrenUnmodifiable().get(0)).getText()).isEqualTo("Cherry");
+        assertThat(second.getHeight()).isEqualTo(first.getHeight());
+    }
+
+    @Test
+    public void shouldCreateDefaultSkinWhenFocusedByKeyboard()
+    {
+        PrebuiltCellFactory<String> cellFactory =
+            (PrebuiltCellFactory<String>) second.getComboBox().getCellFactory();
+        assertThat(cellFactory.getCreatedCount()).isZero();
+
+        type(KeyCode.TAB);
+
+        assertThat(second.getComboBox().isFocused()).isTrue();
+        assertThat(second.getComboBox().getSkin()).isNotInstanceOf(DeferredComboBoxSkin.class);
+        assertThat(second.getComboBox().getEditor().getText()).isEqualTo("Cherry");
+        assertThat(cellFactory.getCreatedCount()).isPositive();
+    }
+
+    @Test
+    public void shouldAutoCompleteAfterClick()
+    {
+        clickOn(third.getComboBox());
+        type(KeyCode.A, KeyCode.P, KeyCode.P);
+
+        assertThat(third.getComboBox().getSkin()).isNotInstanceOf(DeferredComboBoxSkin.class);
+        assertThat(third.getComboBox().isShowing()).isTrue();
+        assertThat(third.getMatchedItems()).containsExactly("Apple", "Pineapple", "Rose Apple");
+    }
+
+    @Test
+    public void shouldShowPopupWhenArrowIsClicked()
+    {
+        clickOn(third.getComboBox().lookup(".arrow-button"));
+
+        assertThat(third.getComboBox().isShowing()).isTrue();
+        assertThat(third.getPopupList().getScene().getWindow().isShowing()).isTrue();
+        assertThat(third.getPopupList().getItems()).hasSize(AutoCompleteComboBoxTest.fruits.size());
+    }
+
+    @Test
+    public void shouldCreateDefaultSkinRightAwayIfNotDeferred()
+    {
+        interact(() -> third.setDeferSkin(false));
+
+        assertThat(third.getComboBox().getSkin()).isNotInstanceOf(DeferredComboBoxSkin.class);
+        assertThat(third.getPopupList()).isNotNull();
+    }
+}
@@ -0,0 +1,69 @@
+package org.testfx.issue224;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class FileSuggestionProviderTest
+{
+    FileSuggestionProvider provider;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        Path file = Files.createTempFile("vocabulary", ".txt");
+        Files.write(file, AutoCompleteComboBoxTest.fruits, StandardCharsets.UTF_8);
+        provider = new FileSuggestionProvider(file, Runnable::run);
+    }
+
+    @Test
+    public void shouldMatchLikeInMemoryProvider()
+    {
+        InMemorySuggestionProvider<String> inMemory = InMemorySuggestionProvider.of(AutoCompleteComboBoxTest.fruits);
+        for (AutoCompleteMode mode : AutoCompleteMode.values())
+        {
+            SuggestionQuery query = new SuggestionQuery("ca", mode, true, 0, Integer.MAX_VALUE);
+            assertThat(provider.suggest(query).join().getItems())
+                .isEqualTo(inMemory.suggest(query).join().getItems());
+        }
+    }
+
+    @Test
+    public void shouldReturnPages()
+    {
+        SuggestionPage first = provider.suggest(new SuggestionQuery("ap", AutoCompleteMode.CONTAINS, true, 0, 2)).join();
+        assertThat(first.getItems()).containsExactly("Apple", "Apricot");
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.getValueIndexes()).isNull();
+
+        SuggestionPage last = provider.suggest(new SuggestionQuery("ap", AutoCompleteMode.CONTAINS, true, 2, 10)).join();
+        assertThat(last.getItems()).containsExactly("Grape", "Grapefruit", "Papaya", "Pineapple", "Rose Apple",
+            "Sapadilla");
+        assertThat(last.hasMore()).isFalse();
+    }
+
+    @Test
+    public void shouldStopWhenCancelled()
+    {
+        SuggestionQuery query = new SuggestionQuery("a", AutoCompleteMode.CONTAINS, true, 0, 10);
+        query.cancel();
+        try
+        {
+            provider.suggest(query).join();
+            fail("expected the lookup to be cancelled");
+        }
+        catch (CompletionException e)
+        {
+            assertThat(e.getCause()).isInstanceOf(CancellationException.class);
+        }
+    }
+}
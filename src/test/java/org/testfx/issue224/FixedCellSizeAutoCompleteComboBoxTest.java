@@ -0,0 +1,100 @@
+package org.testfx.issue224;
+
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FixedCellSizeAutoCompleteComboBoxTest extends ApplicationTest
+{
+    AutoCompleteComboBox<String> autoCompleteComboBox;
+
+    AutoCompleteMetrics metrics = new AutoCompleteMetrics();
+
+    @Override
+    public void start(Stage stage) throws Exception
+    {
+        autoCompleteComboBox = new AutoCompleteComboBox<>(AutoCompleteComboBoxTest.fruits);
+        autoCompleteComboBox.setFixedCellSize(24);
+        autoCompleteComboBox.setMetricsListener(metrics);
+        autoCompleteComboBox.requestFocus();
+        StackPane root = new StackPane(autoCompleteComboBox);
+        Scene scene = new Scene(root, 400, 600);
+
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    @Test
+    public void shouldResizePopupInPlaceWhileTyping()
+    {
+        type(KeyCode.A);
+        ListView<String> popupList = autoCompleteComboBox.getPopupList();
+
+        assertThat(autoCompleteComboBox.getComboBox().isShowing()).isTrue();
+        assertThat(popupList.getFixedCellSize()).isEqualTo(24);
+        assertThat(popupList.getHeight()).isGreaterThanOrEqualTo(8 * 24);
+
+        type(KeyCode.P, KeyCode.P);
+
+        assertThat(autoCompleteComboBox.getComboBox().getItems()).containsExactly("Apple", "Pineapple", "Rose Apple");
+        assertThat(autoCompleteComboBox.getComboBox().isShowing()).isTrue();
+        assertThat(popupList.getHeight()).isLessThan(4 * 24);
+        assertThat(metrics.getPopupShowCount()).isEqualTo(1);
+        assertThat(metrics.getPopupHideCount()).isZero();
+
+        type(KeyCode.DOWN, KeyCode.ENTER);
+
+        assertThat(autoCompleteComboBox.getSelection()).isEqualTo("Apple");
+    }
+
+    @Test
+    public void shouldLeaveEditorTextToHomeAndEnd()
+    {
+        type(KeyCode.A, KeyCode.P, KeyCode.P);
+        assertThat(autoCompleteComboBox.getComboBox().isShowing()).isTrue();
+
+        type(KeyCode.HOME);
+
+        assertThat(autoCompleteComboBox.getComboBox().getEditor().getText()).isEqualTo("app");
+        assertThat(autoCompleteComboBox.getComboBox().getEditor().getCaretPosition()).isZero();
+        assertThat(autoCompleteComboBox.getComboBox().isShowing()).isFalse();
+
+        type(KeyCode.END);
+
+        assertThat(autoCompleteComboBox.getComboBox().getEditor().getText()).isEqualTo("app");
+        assertThat(autoCompleteComboBox.getComboBox().getEditor().getCaretPosition()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldNotCreateCellsWhileTyping()
+    {
+        interact(() -> autoCompleteComboBox.setHighlightMatches(true));
+        PrebuiltCellFactory<String> cellFactory =
+            (PrebuiltCellFactory<String>) autoCompleteComboBox.getComboBox().getCellFactory();
+        int prebuiltCount = cellFactory.getCreatedCount();
+
+        for (int i = 0; i < 3; i++)
+        {
+            type(KeyCode.A, KeyCode.P, KeyCode.P);
+            type(KeyCode.BACK_SPACE, KeyCode.BACK_SPACE, KeyCode.BACK_SPACE);
+        }
+
+        assertThat(cellFactory.getCreatedCount()).isEqualTo(prebuiltCount);
+    }
+
+    @Test
+    public void shouldHidePopupWhenNothingMatches()
+    {
+        type(KeyCode.A, KeyCode.Q);
+
+        assertThat(autoCompleteComboBox.getComboBox().getItems()).isEmpty();
+        assertThat(autoCompleteComboBox.getComboBox().isShowing()).isFalse();
+    }
+}
@@ -0,0 +1,119 @@
+package org.testfx.issue224;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenericAutoCompleteComboBoxTest extends ApplicationTest
+{
+    AutoCompleteComboBox<Fruit> autoCompleteComboBox;
+
+    AtomicInteger extractorCalls = new AtomicInteger();
+
+    @Override
+    public void start(Stage stage) throws Exception
+    {
+        autoCompleteComboBox = new AutoCompleteComboBox<>(fruits, fruit ->
+        {
+            extractorCalls.incrementAndGet();
+            return fruit.getName();
+        });
+        autoCompleteComboBox.requestFocus();
+        StackPane root = new StackPane(autoCompleteComboBox);
+        Scene scene = new Scene(root, 400, 600);
+
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    @Test
+    public void shouldAutoCompleteDomainObjects()
+    {
+        press(KeyCode.A);
+        release(KeyCode.A);
+        press(KeyCode.P);
+        release(KeyCode.P);
+        press(KeyCode.P);
+        release(KeyCode.P);
+
+        assertThat(autoCompleteComboBox.getComboBox().getItems()).extracting("name")
+                .containsExactly("Apple", "Pineapple", "Rose Apple");
+
+        interact(() -> autoCompleteComboBox.getComboBox().getSelectionModel().select(1));
+
+        assertThat(autoCompleteComboBox.getSelection()).isSameAs(fruits.get(
+                AutoCompleteComboBoxTest.fruits.indexOf("Pineapple")));
+    }
+
+    @Test
+    public void shouldConvertTextByExtractedKeys()
+    {
+        interact(() -> autoCompleteComboBox.setPageSize(2));
+        press(KeyCode.A);
+        release(KeyCode.A);
+        press(KeyCode.P);
+        release(KeyCode.P);
+
+        List<Fruit> converted = new ArrayList<>();
+        interact(() ->
+        {
+            extractorCalls.set(0);
+            converted.add(autoCompleteComboBox.getComboBox().getConverter().fromString("Rose Apple"));
+            converted.add(autoCompleteComboBox.getComboBox().getConverter().fromString("Banana"));
+            converted.add(autoCompleteComboBox.getComboBox().getConverter().fromString("Kiwano"));
+        });
+
+        assertThat(autoCompleteComboBox.getComboBox().getItems()).extracting("name").containsExactly("Apple", "Apricot");
+        assertThat(converted.get(0)).isSameAs(fruits.get(AutoCompleteComboBoxTest.fruits.indexOf("Rose Apple")));
+        assertThat(converted.get(1)).isSameAs(fruits.get(AutoCompleteComboBoxTest.fruits.indexOf("Banana")));
+        assertThat(converted.get(2)).isNull();
+        assertThat(extractorCalls.get()).isZero();
+    }
+
+    @Test
+    public void shouldExtractKeysOnlyWhenIndexing()
+    {
+        AtomicInteger count = new AtomicInteger();
+        InMemorySuggestionProvider<Fruit> provider = new InMemorySuggestionProvider<>(fruits, fruit ->
+        {
+            count.incrementAndGet();
+            return fruit.getName();
+        });
+
+        for (String text : new String[] {"a", "ap", "app", "ap", "a"})
+        {
+            provider.match(new SuggestionQuery(text, AutoCompleteMode.CONTAINS, true, 0, Integer.MAX_VALUE));
+        }
+
+        assertThat(count.get()).isEqualTo(fruits.size());
+    }
+
+    public static class Fruit
+    {
+        private final String name;
+
+        public Fruit(String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+
+    static List<Fruit> fruits = AutoCompleteComboBoxTest.fruits.stream().map(Fruit::new)
+            .collect(Collectors.toList());
+}
@@ -0,0 +1,149 @@
+package org.testfx.issue224;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemorySuggestionProviderNarrowingTest
+{
+    InMemorySuggestionProvider<String> provider = InMemorySuggestionProvider.of(AutoCompleteComboBoxTest.fruits);
+
+    List<Integer> scanned = new ArrayList<>();
+    List<Boolean> narrowed = new ArrayList<>();
+
+    @Before
+    public void listen()
+    {
+        provider.setMetricsListener(new AutoCompleteMetricsListener()
+        {
+            @Override
+            public void candidatesFiltered(long nanos, int scannedCount, int matched, boolean narrowedScan)
+            {
+                scanned.add(scannedCount);
+                narrowed.add(narrowedScan);
+            }
+        });
+    }
+
+    @Test
+    public void shouldNarrowPreviousMatchesToSameResultsAsFullScan()
+    {
+        UsageStatistics usageStatistics = new UsageStatistics(AutoCompleteComboBoxTest.fruits.size(), 0);
+        usageStatistics.record(AutoCompleteComboBoxTest.fruits.indexOf("Grape"));
+        provider.setUsageStatistics(usageStatistics);
+
+        for (String text : new String[] {"", "a", "ap", "ape", "ap", "r", "ra", "rap"})
+        {
+            for (AutoCompleteMode mode : AutoCompleteMode.values())
+            {
+                InMemorySuggestionProvider<String> scanning = InMemorySuggestionProvider.of(AutoCompleteComboBoxTest.fruits);
+                scanning.setUsageStatistics(usageStatistics);
+
+                SuggestionPage<String> expected = scanning.match(query(text, mode));
+                SuggestionPage<String> actual = provider.match(query(text, mode));
+
+                assertThat(actual.getItems()).as(text + " " + mode).containsExactlyElementsOf(expected.getItems());
+                for (int i = 0; i < expected.getItems().size(); i++)
+                {
+                    assertThat(actual.getMatchStart(i)).isEqualTo(expected.getMatchStart(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyScanPreviousMatchesWhenExtendingQuery()
+    {
+        int matchCount = provider.match(query("a", AutoCompleteMode.CONTAINS)).getItems().size();
+        provider.match(query("ap", AutoCompleteMode.CONTAINS));
+
+        assertThat(narrowed).containsExactly(false, true);
+        assertThat(scanned).containsExactly(AutoCompleteComboBoxTest.fruits.size(), matchCount);
+    }
+
+    @Test
+    public void shouldScanAllValuesWhenQueryDoesNotExtendPreviousOne()
+    {
+        provider.match(query("ap", AutoCompleteMode.CONTAINS));
+        provider.match(query("a", AutoCompleteMode.CONTAINS));
+        provider.match(query("pa", AutoCompleteMode.CONTAINS));
+
+        assertThat(narrowed).containsExactly(false, false, false);
+    }
+
+    @Test
+    public void shouldScanAllValuesWhenModeOrFoldingChanges()
+    {
+        provider.match(query("a", AutoCompleteMode.CONTAINS));
+        provider.match(query("ap", AutoCompleteMode.STARTS_WITH));
+        KeyFolding plain = KeyFolding.of(Locale.getDefault(), false);
+        provider.match(new SuggestionQuery("apr", AutoCompleteMode.STARTS_WITH, plain, 0, Integer.MAX_VALUE));
+        KeyFolding turkish = KeyFolding.of(Locale.forLanguageTag("tr"), false);
+        provider.match(new SuggestionQuery("apri", AutoCompleteMode.STARTS_WITH, turkish, 0, Integer.MAX_VALUE));
+
+        assertThat(narrowed).containsExactly(false, false, false, false);
+    }
+
+    @Test
+    public void shouldScanAllValuesAfterUsageStatisticsChange()
+    {
+        provider.match(query("a", AutoCompleteMode.CONTAINS));
+        provider.setUsageStatistics(new UsageStatistics(AutoCompleteComboBoxTest.fruits.size(), 0));
+        provider.match(query("ap", AutoCompleteMode.CONTAINS));
+
+        assertThat(narrowed).containsExactly(false, false);
+    }
+
+    @Test
+    public void shouldRankLikeFullScanAfterSelectionIsRecorded()
+    {
+        UsageStatistics usageStatistics = new UsageStatistics(AutoCompleteComboBoxTest.fruits.size(), 0);
+        usageStatistics.record(AutoCompleteComboBoxTest.fruits.indexOf("Grape"));
+        provider.setUsageStatistics(usageStatistics);
+        provider.match(query("a", AutoCompleteMode.CONTAINS));
+        usageStatistics.record(AutoCompleteComboBoxTest.fruits.indexOf("Pineapple"));
+        usageStatistics.record(AutoCompleteComboBoxTest.fruits.indexOf("Pineapple"));
+        SuggestionPage<String> page = provider.match(query("ap", AutoCompleteMode.CONTAINS));
+
+        InMemorySuggestionProvider<String> scanning = InMemorySuggestionProvider.of(AutoCompleteComboBoxTest.fruits);
+        scanning.setUsageStatistics(usageStatistics);
+        assertThat(narrowed).containsExactly(false, false);
+        assertThat(page.getItems()).startsWith("Pineapple", "Grape")
+                .containsExactlyElementsOf(scanning.match(query("ap", AutoCompleteMode.CONTAINS)).getItems());
+    }
+
+    @Test
+    public void shouldNarrowAllMatchesRatherThanPreviousPage()
+    {
+        provider.match(new SuggestionQuery("a", AutoCompleteMode.CONTAINS, true, 0, 2));
+        SuggestionPage<String> page = provider.match(new SuggestionQuery("ap", AutoCompleteMode.CONTAINS, true, 2, 10));
+
+        assertThat(narrowed).containsExactly(false, true);
+        assertThat(page.getItems()).containsExactly("Grape", "Grapefruit", "Papaya", "Pineapple", "Rose Apple",
+                "Sapadilla");
+    }
+
+    @Test
+    public void shouldScanAllValuesWithNarrowingDisabled()
+    {
+        provider.setNarrowing(false);
+        provider.match(query("a", AutoCompleteMode.CONTAINS));
+        provider.match(query("ap", AutoCompleteMode.CONTAINS));
+
+        assertThat(provider.isNarrowing()).isFalse();
+        assertThat(narrowed).containsExactly(false, false);
+        assertThat(scanned).containsExactly(AutoCompleteComboBoxTest.fruits.size(),
+                AutoCompleteComboBoxTest.fruits.size());
+    }
+
+    private static SuggestionQuery query(String text, AutoCompleteMode mode)
+    {
+        return new SuggestionQuery(SuggestionQuery.normalize(text, true), mode, true, 0, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,99 @@
+package org.testfx.issue224;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.Test;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemorySuggestionProviderTest
+{
+    InMemorySuggestionProvider<String> provider = InMemorySuggestionProvider.of(
+            Arrays.asList("Açaí", "Cardón", "İstanbul", "Caçador"));
+
+    @Test
+    public void shouldReportMatchRangesInOriginalKeys()
+    {
+        SuggestionPage<String> page = provider.match(query("ca", AutoCompleteMode.CONTAINS));
+
+        assertThat(page.getItems()).containsExactly("Açaí", "Cardón", "Caçador");
+        assertRange(page, 0, "Açaí", "ça");
+        assertRange(page, 1, "Cardón", "Ca");
+        assertRange(page, 2, "Caçador", "Ca");
+    }
+
+    @Test
+    public void shouldMapRangesThroughLengthChangingNormalization()
+    {
+        SuggestionPage<String> page = provider.match(query("stan", AutoCompleteMode.CONTAINS));
+
+        assertThat(page.getItems()).containsExactly("İstanbul");
+        assertRange(page, 0, "İstanbul", "stan");
+
+        page = provider.match(query("i", AutoCompleteMode.STARTS_WITH));
+        assertRange(page, 0, "İstanbul", "İ");
+    }
+
+    @Test
+    public void shouldKeepIndexesOfAllValuesPerProvider()
+    {
+        InMemorySuggestionProvider<String> other = InMemorySuggestionProvider.of(AutoCompleteComboBoxTest.fruits);
+
+        int[] allIndexes = provider.all().getValueIndexes();
+        assertThat(other.all().getItems()).containsExactlyElementsOf(AutoCompleteComboBoxTest.fruits);
+        assertThat(provider.all().getValueIndexes()).isSameAs(allIndexes);
+        assertThat(provider.all().getItems()).containsExactly("Açaí", "Cardón", "İstanbul", "Caçador");
+    }
+
+    @Test
+    public void shouldReturnRequestedPage()
+    {
+        SuggestionPage<String> page = provider.match(new SuggestionQuery("a", AutoCompleteMode.CONTAINS, true, 1, 2));
+
+        assertThat(page.getItems()).containsExactly("Cardón", "İstanbul");
+        assertThat(page.getValueIndexes()).containsExactly(1, 2);
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    public void shouldMatchInLocaleOfQuery()
+    {
+        InMemorySuggestionProvider<String> international = InMemorySuggestionProvider.of(
+                Arrays.asList("Straße", "Işık", "İzmir", "Åsa", "Ana"));
+        Locale turkish = Locale.forLanguageTag("tr");
+
+        assertThat(international.match(query("i", AutoCompleteMode.CONTAINS, turkish)).getItems())
+                .containsExactly("İzmir");
+        assertThat(international.match(query("ı", AutoCompleteMode.CONTAINS, turkish)).getItems())
+                .containsExactly("Işık");
+        assertThat(international.match(query("i", AutoCompleteMode.CONTAINS, Locale.ENGLISH)).getItems())
+                .containsExactly("Işık", "İzmir");
+        assertThat(international.match(query("a", AutoCompleteMode.STARTS_WITH, Locale.forLanguageTag("sv")))
+                .getItems()).containsExactly("Ana");
+        assertThat(international.match(query("a", AutoCompleteMode.STARTS_WITH, Locale.ENGLISH)).getItems())
+                .containsExactly("Åsa", "Ana");
+
+        SuggestionPage<String> page = international.match(query("strass", AutoCompleteMode.STARTS_WITH,
+                Locale.GERMAN));
+        assertThat(page.getItems()).containsExactly("Straße");
+        assertRange(page, 0, "Straße", "Straß");
+    }
+
+    private static SuggestionQuery query(String text, AutoCompleteMode mode)
+    {
+        return new SuggestionQuery(SuggestionQuery.normalize(text, true), mode, true, 0, Integer.MAX_VALUE);
+    }
+
+    private static SuggestionQuery query(String text, AutoCompleteMode mode, Locale locale)
+    {
+        KeyFolding folding = KeyFolding.of(locale, true);
+        return new SuggestionQuery(folding.fold(text), mode, folding, 0, Integer.MAX_VALUE);
+    }
+
+    private static void assertRange(SuggestionPage<String> page, int index, String key, String match)
+    {
+        assertThat(key.substring(page.getMatchStart(index), page.getMatchEnd(index))).isEqualTo(match);
+    }
+}
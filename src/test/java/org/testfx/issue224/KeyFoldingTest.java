@@ -0,0 +1,91 @@
+package org.testfx.issue224;
+
+import java.util.Locale;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyFoldingTest
+{
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private static final Locale SWEDISH = Locale.forLanguageTag("sv");
+
+    private static final Locale SPANISH = Locale.forLanguageTag("es");
+
+    @Test
+    public void shouldFoldCaseWithRulesOfLocale()
+    {
+        assertThat(KeyFolding.of(TURKISH, false).fold("Işık İzmir")).isEqualTo("ışık izmir");
+        assertThat(KeyFolding.of(Locale.ENGLISH, false).fold("Işık")).isEqualTo("işik");
+        assertThat(KeyFolding.of(TURKISH, false).fold("ﬁle")).isEqualTo("file");
+        assertThat(KeyFolding.of(Locale.ENGLISH, false).fold("ΣΊΣΥΦΟΣ")).isEqualTo("σίσυφοσ");
+        assertThat(KeyFolding.of(Locale.ENGLISH, false).fold("𐐀")).isEqualTo("𐐨");
+    }
+
+    @Test
+    public void shouldExpandSharpS()
+    {
+        assertThat(KeyFolding.of(Locale.GERMAN, false).fold("Straße")).isEqualTo("strasse");
+        assertThat(KeyFolding.of(Locale.GERMAN, true).fold("STRAẞE")).isEqualTo("strasse");
+    }
+
+    @Test
+    public void shouldKeepLettersOfTheirOwnInLocale()
+    {
+        assertThat(KeyFolding.of(Locale.ENGLISH, true).fold("Åsa Niño Açaí")).isEqualTo("asa nino acai");
+        assertThat(KeyFolding.of(SWEDISH, true).fold("Åsa Niño")).isEqualTo("åsa nino");
+        assertThat(KeyFolding.of(SPANISH, true).fold("Åsa Niño")).isEqualTo("asa niño");
+        assertThat(KeyFolding.of(TURKISH, true).fold("Açaí Işık")).isEqualTo("açai ışık");
+    }
+
+    @Test
+    public void shouldDropCombiningMarksOnlyWhenFoldingAccentMarks()
+    {
+        assertThat(KeyFolding.of(Locale.ENGLISH, true).fold("İstanbul Café")).isEqualTo("istanbul cafe");
+        assertThat(KeyFolding.of(Locale.ENGLISH, false).fold("İstanbul Café"))
+            .isEqualTo("i̇stanbul café");
+    }
+
+    @Test
+    public void shouldReturnSameInstanceIfNothingIsFolded()
+    {
+        String value = "apple pie";
+
+        assertThat(KeyFolding.of(Locale.ENGLISH, true).fold(value)).isSameAs(value);
+    }
+
+    @Test
+    public void shouldMapOffsetsThroughExpansions()
+    {
+        KeyFolding folding = KeyFolding.of(Locale.GERMAN, true);
+        String value = "Straße";
+        String folded = folding.fold(value);
+
+        assertThat(folding.toOriginalOffset(value, folded, folded.indexOf("sse"), false)).isEqualTo(4);
+        assertThat(folding.toOriginalOffset(value, folded, folded.indexOf("sse") + 3, true)).isEqualTo(6);
+        assertThat(folding.toOriginalOffset(value, folded, 5, false)).isEqualTo(4);
+        assertThat(folding.toOriginalOffset(value, folded, 5, true)).isEqualTo(5);
+    }
+
+    @Test
+    public void shouldMapOffsetsWhenExpansionsAndDroppedMarksCancelOut()
+    {
+        KeyFolding folding = KeyFolding.of(Locale.GERMAN, true);
+        String value = "Cafe\u0301 Stra\u00dfe";
+        String folded = folding.fold(value);
+        assertThat(folded).hasSize(value.length());
+
+        int start = folded.indexOf("stra");
+        assertThat(value.substring(folding.toOriginalOffset(value, folded, start, false),
+            folding.toOriginalOffset(value, folded, start + 4, true))).isEqualTo("Stra");
+    }
+
+    @Test
+    public void shouldShareInstances()
+    {
+        assertThat(KeyFolding.of(TURKISH, true)).isSameAs(KeyFolding.of(Locale.forLanguageTag("tr"), true));
+        assertThat(KeyFolding.of(TURKISH, true)).isNotSameAs(KeyFolding.of(TURKISH, false));
+    }
+}
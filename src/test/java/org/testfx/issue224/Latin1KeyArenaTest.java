@@ -0,0 +1,72 @@
+package org.testfx.issue224;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Latin1KeyArenaTest
+{
+    static final ContainsKernel SCALAR_KERNEL = (haystack, from, to, needle) ->
+    {
+        for (int i = from; i <= to - needle.length; i++)
+        {
+            if (Arrays.equals(Arrays.copyOfRange(haystack, i, i + needle.length), needle))
+            {
+                return i;
+            }
+        }
+        return -1;
+    };
+
+    @Test
+    public void shouldFindSameKeysAndOffsetsAsStrings()
+    {
+        String[] keys = {"caracas", "", "ocra", "καρα", "mocca", "arc", "ca", "ñacara", "λca", "c", "aκca", "𝄞ca"};
+        Latin1KeyArena arena = new Latin1KeyArena(keys);
+
+        for (String text : new String[] {"c", "ca", "car", "ara", "a", "ñ", "cas", "x"})
+        {
+            int[] matches = new int[keys.length];
+            int[] matchStarts = new int[keys.length];
+            int matchCount = arena.findAll(SCALAR_KERNEL, Latin1KeyArena.toNeedle(text), matches, matchStarts);
+
+            List<Integer> expected = new ArrayList<>();
+            List<Integer> actual = new ArrayList<>();
+            for (int i = 0; i < keys.length; i++)
+            {
+                if (keys[i].contains(text))
+                {
+                    expected.add(i);
+                }
+            }
+            for (int i = 0; i < matchCount; i++)
+            {
+                actual.add(matches[i]);
+                assertThat(matchStarts[matches[i]]).as(text + " in " + keys[matches[i]])
+                    .isEqualTo(keys[matches[i]].indexOf(text));
+            }
+            assertThat(actual).as(text).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void shouldNotMatchAcrossKeys()
+    {
+        Latin1KeyArena arena = new Latin1KeyArena(new String[] {"ab", "cd"});
+        byte[] needle = Latin1KeyArena.toNeedle("bc");
+
+        assertThat(arena.findAll(SCALAR_KERNEL, needle, new int[2], new int[2])).isZero();
+    }
+
+    @Test
+    public void shouldOnlyAcceptLatin1Needles()
+    {
+        assertThat(Latin1KeyArena.toNeedle("ça")).containsExactly((byte) 0xE7, (byte) 'a');
+        assertThat(Latin1KeyArena.toNeedle("κα")).isNull();
+        assertThat(Latin1KeyArena.toNeedle("")).isNull();
+    }
+}
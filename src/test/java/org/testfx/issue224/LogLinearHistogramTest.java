@@ -0,0 +1,61 @@
+package org.testfx.issue224;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogLinearHistogramTest
+{
+    LogLinearHistogram histogram = new LogLinearHistogram();
+
+    @Test
+    public void shouldRecordSmallValuesExactly()
+    {
+        for (int i = 1; i <= 50; i++)
+        {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.getTotalCount()).isEqualTo(50);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(25);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(50);
+        assertThat(histogram.getMean()).isEqualTo(25.5);
+    }
+
+    @Test
+    public void shouldKeepLargeValuesWithinThreePercent()
+    {
+        for (long value = 1000; value <= 100000000; value *= 3)
+        {
+            histogram.reset();
+            histogram.record(value);
+            histogram.record(LogLinearHistogram.MAX_VALUE);
+
+            assertThat((double) histogram.getValueAtPercentile(50)).isBetween((double) value, value * 1.032);
+        }
+    }
+
+    @Test
+    public void shouldMapEveryValueToContiguousBuckets()
+    {
+        int previous = 0;
+        for (long value = 1; value < 1 << 20; value++)
+        {
+            int index = LogLinearHistogram.bucketIndex(value);
+
+            assertThat(index - previous).isBetween(0, 1);
+            assertThat(LogLinearHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void shouldClampOutOfRangeValues()
+    {
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.getValueAtPercentile(0)).isZero();
+        assertThat(histogram.getMax()).isEqualTo(LogLinearHistogram.MAX_VALUE);
+    }
+}
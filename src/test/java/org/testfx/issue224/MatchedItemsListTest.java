@@ -0,0 +1,102 @@
+package org.testfx.issue224;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.collections.ListChangeListener;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MatchedItemsListTest
+{
+    static final List<String> values = Arrays.asList("a", "b", "c", "d", "e", "f");
+
+    MatchedItemsList<String> list;
+    List<String> changes = new ArrayList<>();
+
+    @Before
+    public void setUp()
+    {
+        list = new MatchedItemsList<>(page(0, 1, 2, 3, 4, 5));
+        list.addListener((ListChangeListener<String>) change ->
+        {
+            StringBuilder description = new StringBuilder();
+            while (change.next())
+            {
+                if (change.wasRemoved())
+                {
+                    description.append("-").append(change.getFrom()).append(change.getRemoved());
+                }
+                if (change.wasAdded())
+                {
+                    description.append("+").append(change.getFrom()).append(change.getAddedSubList());
+                }
+            }
+            changes.add(description.toString());
+        });
+    }
+
+    @Test
+    public void shouldRemoveOnlyValuesThatNoLongerMatch()
+    {
+        list.setPage(page(1, 2, 5));
+
+        assertThat(list).containsExactly("b", "c", "f");
+        assertThat(changes).containsExactly("-0[a]-2[d, e]");
+    }
+
+    @Test
+    public void shouldAddOnlyValuesThatStartMatching()
+    {
+        list.setPage(page(2));
+        changes.clear();
+
+        list.setPage(page(0, 2, 3));
+
+        assertThat(list).containsExactly("a", "c", "d");
+        assertThat(changes).containsExactly("+0[a]+2[d]");
+    }
+
+    @Test
+    public void shouldMoveValuesRankedFirst()
+    {
+        list.setPage(page(1, 2, 3));
+        changes.clear();
+
+        list.setPage(page(3, 1, 2));
+
+        assertThat(list).containsExactly("d", "b", "c");
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0)).isEqualTo("+0[d]-3[d]");
+    }
+
+    @Test
+    public void shouldFireNothingForSameMatches()
+    {
+        list.setPage(page(0, 1, 2, 3, 4, 5));
+
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void shouldTrimPagesWithoutValueIndexes()
+    {
+        list.setPage(new SuggestionPage<>(Arrays.asList("a", "x", "f"), null, false));
+
+        assertThat(list).containsExactly("a", "x", "f");
+        assertThat(changes).containsExactly("-1[b, c, d, e]+1[x]");
+    }
+
+    private static SuggestionPage<String> page(int... valueIndexes)
+    {
+        List<String> items = new ArrayList<>();
+        for (int index : valueIndexes)
+        {
+            items.add(values.get(index));
+        }
+        return new SuggestionPage<>(items, valueIndexes, false);
+    }
+}
@@ -0,0 +1,119 @@
+package org.testfx.issue224;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamingAutoCompleteComboBoxTest extends ApplicationTest
+{
+    AutoCompleteComboBox<String> autoCompleteComboBox;
+
+    StreamingSuggestionProvider provider;
+
+    List<Runnable> loading = new ArrayList<>();
+
+    @Override
+    public void start(Stage stage) throws Exception
+    {
+        Path file = Files.createTempFile("vocabulary", ".txt");
+        Files.write(file, AutoCompleteComboBoxTest.fruits, StandardCharsets.UTF_8);
+
+        // every lookup and every chunk takes a while, so that refreshes arrive
+        // while lookups of the same text are running
+        provider = StreamingSuggestionProvider.load(file, KeyFolding.of(Locale.getDefault(), true), loading::add,
+            runnable -> new Thread(() ->
+            {
+                sleep(40);
+                runnable.run();
+            }).start(), 32);
+        autoCompleteComboBox = new AutoCompleteComboBox<>(provider, Function.identity(), AutoCompleteMode.CONTAINS);
+        provider.setProgressListener((valueCount, bytesRead, totalBytes) ->
+        {
+            sleep(15);
+            Platform.runLater(autoCompleteComboBox::refreshSuggestions);
+        });
+
+        autoCompleteComboBox.requestFocus();
+        StackPane root = new StackPane(autoCompleteComboBox);
+        Scene scene = new Scene(root, 400, 600);
+
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    @Test
+    public void shouldShowAllSuggestionsOnceLoaded() throws Exception
+    {
+        Thread loader = new Thread(loading.get(0));
+        loader.setDaemon(true);
+        loader.start();
+
+        press(KeyCode.A);
+        release(KeyCode.A);
+        press(KeyCode.P);
+        release(KeyCode.P);
+
+        provider.getLoaded().get(10, TimeUnit.SECONDS);
+        List<String> expected = InMemorySuggestionProvider.of(AutoCompleteComboBoxTest.fruits)
+            .match(new SuggestionQuery(SuggestionQuery.normalize("ap", true), AutoCompleteMode.CONTAINS, true, 0,
+                Integer.MAX_VALUE))
+            .getItems();
+        waitUntil(() -> autoCompleteComboBox.getMatchedItems().equals(expected));
+
+        assertThat(autoCompleteComboBox.getMatchedItems()).containsExactlyElementsOf(expected);
+        assertThat(autoCompleteComboBox.getComboBox().getEditor().getText()).isEqualTo("ap");
+        assertThat(autoCompleteComboBox.getComboBox().isShowing()).isTrue();
+    }
+
+    @Test
+    public void shouldRequestBoundedPagesByDefault()
+    {
+        assertThat(autoCompleteComboBox.getPageSize()).isEqualTo(100);
+        interact(() -> assertThat(new AutoCompleteComboBox<>(AutoCompleteComboBoxTest.fruits).getPageSize())
+            .isEqualTo(Integer.MAX_VALUE));
+    }
+
+    private static void waitUntil(BooleanSupplier condition)
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline)
+        {
+            WaitForAsyncUtils.waitForFxEvents();
+            if (condition.getAsBoolean())
+            {
+                return;
+            }
+            sleep(50);
+        }
+    }
+
+    private static void sleep(long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.testfx.issue224;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class StreamingSuggestionProviderTest
+{
+    private static final KeyFolding FOLDING = KeyFolding.of(Locale.getDefault(), true);
+
+    Path file;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        file = Files.createTempFile("vocabulary", ".txt");
+        Files.write(file, AutoCompleteComboBoxTest.fruits, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void shouldMatchLikeInMemoryProviderOnceLoaded()
+    {
+        StreamingSuggestionProvider provider = StreamingSuggestionProvider.load(file, FOLDING, Runnable::run,
+            Runnable::run);
+        assertThat(provider.getLoaded().join()).isEqualTo(AutoCompleteComboBoxTest.fruits.size());
+
+        InMemorySuggestionProvider<String> inMemory = InMemorySuggestionProvider.of(AutoCompleteComboBoxTest.fruits);
+        for (AutoCompleteMode mode : AutoCompleteMode.values())
+        {
+            for (boolean foldAccentMarks : new boolean[] {true, false})
+            {
+                SuggestionQuery query = new SuggestionQuery("ca", mode, foldAccentMarks, 0, Integer.MAX_VALUE);
+                SuggestionPage<String> expected = inMemory.suggest(query).join();
+                SuggestionPage<String> actual = provider.suggest(query).join();
+
+                assertThat(actual.getItems()).isEqualTo(expected.getItems());
+                for (int i = 0; i < expected.getItems().size(); i++)
+                {
+                    assertThat(actual.getMatchStart(i)).isEqualTo(expected.getMatchStart(i));
+                    assertThat(actual.getMatchEnd(i)).isEqualTo(expected.getMatchEnd(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldAnswerQueriesOverValuesLoadedSoFar()
+    {
+        List<Integer> valueCounts = new ArrayList<>();
+        List<String> loadedValues = new ArrayList<>();
+        List<Runnable> loading = new ArrayList<>();
+        StreamingSuggestionProvider provider = StreamingSuggestionProvider.load(file, FOLDING, loading::add,
+            Runnable::run, 64);
+        provider.setProgressListener((valueCount, bytesRead, totalBytes) ->
+        {
+            valueCounts.add(valueCount);
+            List<String> expected = AutoCompleteComboBoxTest.fruits.subList(0, valueCount);
+            SuggestionQuery query = new SuggestionQuery(FOLDING.fold("a"), AutoCompleteMode.CONTAINS, FOLDING, 0,
+                Integer.MAX_VALUE);
+            assertThat(provider.suggest(query).join().getItems())
+                .isEqualTo(InMemorySuggestionProvider.of(expected).suggest(query).join().getItems());
+        });
+
+        loading.get(0).run();
+
+        assertThat(valueCounts.size()).isGreaterThan(2);
+        assertThat(valueCounts).isSorted();
+        assertThat(valueCounts.get(valueCounts.size() - 1)).isEqualTo(AutoCompleteComboBoxTest.fruits.size());
+        for (int i = 0; i < provider.getValueCount(); i++)
+        {
+            loadedValues.add(provider.getValue(i));
+        }
+        assertThat(loadedValues).isEqualTo(AutoCompleteComboBoxTest.fruits);
+    }
+
+    @Test
+    public void shouldSplitLinesAndCharactersAcrossChunks() throws Exception
+    {
+        Files.write(file, "\uFEFFAçaí\r\nCardón\n\n𝄞 Tōtara\r\nStraße".getBytes(StandardCharsets.UTF_8));
+        List<Long> bytesRead = new ArrayList<>();
+        List<Runnable> loading = new ArrayList<>();
+        StreamingSuggestionProvider provider = StreamingSuggestionProvider.load(file, FOLDING, loading::add,
+            Runnable::run, 4);
+        provider.setProgressListener((valueCount, read, totalBytes) -> bytesRead.add(read));
+
+        loading.get(0).run();
+
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < provider.getValueCount(); i++)
+        {
+            values.add(provider.getValue(i));
+        }
+        assertThat(values).containsExactly("Açaí", "Cardón", "𝄞 Tōtara", "Straße");
+        assertThat(bytesRead.get(bytesRead.size() - 1)).isEqualTo(Files.size(file));
+        assertThat(provider.getTotalBytes()).isEqualTo(Files.size(file));
+        assertThat(provider.isLoaded()).isTrue();
+    }
+
+    @Test
+    public void shouldStopLoadingWhenCancelled()
+    {
+        List<Runnable> loading = new ArrayList<>();
+        StreamingSuggestionProvider provider = StreamingSuggestionProvider.load(file, FOLDING, loading::add,
+            Runnable::run, 64);
+        provider.setProgressListener((valueCount, bytesRead, totalBytes) -> provider.cancel());
+
+        loading.get(0).run();
+
+        try
+        {
+            provider.getLoaded().join();
+            fail("expected loading to be cancelled");
+        }
+        catch (CancellationException e)
+        {
+            assertThat(provider.getValueCount()).isBetween(1, AutoCompleteComboBoxTest.fruits.size() - 1);
+        }
+    }
+
+    @Test
+    public void shouldFailLoadingMissingFile() throws Exception
+    {
+        Files.delete(file);
+        StreamingSuggestionProvider provider = StreamingSuggestionProvider.load(file, FOLDING, Runnable::run,
+            Runnable::run);
+        try
+        {
+            provider.getLoaded().join();
+            fail("expected loading to fail");
+        }
+        catch (CompletionException e)
+        {
+            assertThat(provider.getValueCount()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void shouldStopLookupWhenCancelled()
+    {
+        StreamingSuggestionProvider provider = StreamingSuggestionProvider.load(file, FOLDING, Runnable::run,
+            Runnable::run);
+        SuggestionQuery query = new SuggestionQuery("a", AutoCompleteMode.CONTAINS, FOLDING, 0, 10);
+        query.cancel();
+        try
+        {
+            provider.suggest(query).join();
+            fail("expected the lookup to be cancelled");
+        }
+        catch (CompletionException e)
+        {
+            assertThat(e.getCause()).isInstanceOf(CancellationException.class);
+        }
+    }
+}
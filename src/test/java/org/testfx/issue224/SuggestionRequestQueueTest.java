@@ -0,0 +1,196 @@
+package org.testfx.issue224;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import javafx.stage.Stage;
+
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+import org.testfx.issue224.AutoCompleteComboBox.AutoCompleteMode;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SuggestionRequestQueueTest extends ApplicationTest
+{
+    List<SuggestionQuery> lookups = new ArrayList<>();
+    List<CompletableFuture<SuggestionPage<String>>> futures = new ArrayList<>();
+    List<SuggestionPage<String>> shown = new ArrayList<>();
+    SuggestionRequestQueue<String> queue;
+
+    @Override
+    public void start(Stage stage) throws Exception
+    {
+        queue = new SuggestionRequestQueue<>(query ->
+        {
+            CompletableFuture<SuggestionPage<String>> future = new CompletableFuture<>();
+            lookups.add(query);
+            futures.add(future);
+            return future;
+        }, (query, page) -> shown.add(page));
+    }
+
+    @Test
+    public void shouldKeepOnlyOneLookupOutstanding()
+    {
+        interact(() ->
+        {
+            queue.submit(query("a"));
+            queue.submit(query("ab"));
+            queue.submit(query("abc"));
+        });
+
+        assertThat(lookups).containsExactly(query("a"));
+        assertThat(lookups.get(0).isCancelled()).isTrue();
+
+        futures.get(0).complete(page("a"));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertThat(lookups).containsExactly(query("a"), query("abc"));
+        assertThat(shown).isEmpty();
+
+        futures.get(1).complete(page("abc"));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertThat(shown).hasSize(1);
+        assertThat(shown.get(0).getItems()).containsExactly("abc");
+    }
+
+    @Test
+    public void shouldDropQueryEqualToRunningLookup()
+    {
+        interact(() ->
+        {
+            queue.submit(query("a"));
+            queue.submit(query("a"));
+        });
+
+        assertThat(lookups).hasSize(1);
+        assertThat(lookups.get(0).isCancelled()).isFalse();
+    }
+
+    @Test
+    public void shouldLookUpRefreshEqualToRunningLookupAfterIt()
+    {
+        interact(() ->
+        {
+            queue.submit(query("a"));
+            queue.refresh(query("a"));
+        });
+
+        assertThat(lookups).hasSize(1);
+        assertThat(lookups.get(0).isCancelled()).isFalse();
+
+        futures.get(0).complete(page("partial"));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertThat(lookups).hasSize(2);
+        assertThat(shown).hasSize(1);
+        assertThat(shown.get(0).getItems()).containsExactly("partial");
+
+        futures.get(1).complete(page("all"));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertThat(shown).hasSize(2);
+        assertThat(shown.get(1).getItems()).containsExactly("all");
+    }
+
+    @Test
+    public void shouldLogFailedLookupAndStartPendingOne()
+    {
+        List<LogRecord> logged = new ArrayList<>();
+        Handler handler = new Handler()
+        {
+            @Override
+            public void publish(LogRecord record)
+            {
+                logged.add(record);
+            }
+
+            @Override
+            public void flush()
+            {
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        };
+        Logger logger = Logger.getLogger(SuggestionRequestQueue.class.getName());
+        logger.addHandler(handler);
+        try
+        {
+            interact(() -> queue.submit(query("a")));
+            IllegalStateException failure = new IllegalStateException("index unavailable");
+            futures.get(0).completeExceptionally(failure);
+            WaitForAsyncUtils.waitForFxEvents();
+
+            assertThat(shown).hasSize(1);
+            assertThat(shown.get(0).getItems()).isEmpty();
+            assertThat(logged).hasSize(1);
+            assertThat(logged.get(0).getThrown()).isSameAs(failure);
+
+            interact(() ->
+            {
+                queue.submit(query("b"));
+                queue.submit(query("bc"));
+            });
+            futures.get(1).completeExceptionally(new IllegalStateException("cancelled lookup"));
+            WaitForAsyncUtils.waitForFxEvents();
+
+            assertThat(logged).hasSize(1);
+            assertThat(shown).hasSize(1);
+            assertThat(lookups).containsExactly(query("a"), query("b"), query("bc"));
+        }
+        finally
+        {
+            logger.removeHandler(handler);
+        }
+    }
+
+    @Test
+    public void shouldDropPendingLookupWhenProviderChanges()
+    {
+        interact(() ->
+        {
+            queue.submit(query("a"));
+            queue.submit(query("ab"));
+            queue.setProvider(query -> CompletableFuture.completedFuture(page("other")));
+        });
+
+        futures.get(0).complete(page("a"));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertThat(lookups).containsExactly(query("a"));
+        assertThat(shown).isEmpty();
+        assertThat(queue.isBusy()).isFalse();
+    }
+
+    @Test
+    public void shouldShowSynchronousResultsImmediately()
+    {
+        interact(() ->
+        {
+            queue.setProvider(query -> CompletableFuture.completedFuture(page(query.getText())));
+            queue.submit(query("a"));
+            assertThat(queue.isBusy()).isFalse();
+            assertThat(shown).hasSize(1);
+        });
+    }
+
+    private static SuggestionQuery query(String text)
+    {
+        return new SuggestionQuery(text, AutoCompleteMode.CONTAINS, true, 0, 10);
+    }
+
+    private static SuggestionPage<String> page(String item)
+    {
+        return new SuggestionPage<>(Collections.singletonList(item), null, false);
+    }
+}
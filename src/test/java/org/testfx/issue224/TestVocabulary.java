@@ -0,0 +1,50 @@
+package org.testfx.issue224;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible vocabularies of made-up multilingual names, mostly plain
+ * Latin with accented Latin, Greek and Cyrillic syllables mixed in.
+ */
+final class TestVocabulary
+{
+    private static final String[] SYLLABLES = {
+        "ca", "ra", "do", "mi", "lu", "ne", "to", "sa", "pe", "li", "an", "go", "ber", "ry", "ma", "ta",
+        "ri", "ko", "vel", "son", "ar", "ie", "ha", "un", "est", "or", "ça", "é", "ñ", "ü", "ø", "ó", "ß",
+        "κα", "λο", "ка", "ло"
+    };
+
+    private TestVocabulary()
+    {
+    }
+
+    static List<String> generate(final int size, final long seed)
+    {
+        Random random = new Random(seed);
+        List<String> values = new ArrayList<>(size);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++)
+        {
+            builder.setLength(0);
+            int words = 1 + random.nextInt(3);
+            for (int w = 0; w < words; w++)
+            {
+                if (w > 0)
+                {
+                    builder.append(' ');
+                }
+                int start = builder.length();
+                int syllables = 2 + random.nextInt(3);
+                for (int s = 0; s < syllables; s++)
+                {
+                    builder.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                }
+                builder.setCharAt(start, Character.toUpperCase(builder.charAt(start)));
+            }
+            values.add(builder.toString());
+        }
+        return values;
+    }
+}
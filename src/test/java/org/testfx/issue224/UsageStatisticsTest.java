@@ -0,0 +1,146 @@
+package org.testfx.issue224;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class UsageStatisticsTest
+{
+    private static final long HALF_LIFE = TimeUnit.DAYS.toMillis(1);
+
+    @Test
+    public void shouldHalveOldSelectionsEveryHalfLife()
+    {
+        UsageStatistics statistics = new UsageStatistics(3, 0, HALF_LIFE, 0);
+        statistics.record(0, 0);
+        statistics.record(0, 0);
+        statistics.record(1, HALF_LIFE);
+
+        assertThat(statistics.decayedCount(0, HALF_LIFE)).isCloseTo(1.0, within(1e-6));
+        assertThat(statistics.decayedCount(1, HALF_LIFE)).isCloseTo(1.0, within(1e-6));
+        assertThat(statistics.decayedCount(2, HALF_LIFE)).isEqualTo(0.0);
+        assertThat(statistics.hasUsage()).isTrue();
+    }
+
+    @Test
+    public void shouldPreferRecentSelections()
+    {
+        UsageStatistics statistics = new UsageStatistics(2, 0, HALF_LIFE, 0);
+        statistics.record(0, 0);
+        statistics.record(0, 0);
+        statistics.record(0, 0);
+        statistics.record(1, 2 * HALF_LIFE);
+
+        assertThat(statistics.score(1)).isGreaterThan(statistics.score(0));
+    }
+
+    @Test
+    public void shouldRescaleLongLivedCounters()
+    {
+        UsageStatistics statistics = new UsageStatistics(2, 0, HALF_LIFE, 0);
+        statistics.record(0, 0);
+        statistics.record(1, 200 * HALF_LIFE);
+
+        assertThat(Float.isInfinite(statistics.score(1))).isFalse();
+        assertThat(statistics.decayedCount(1, 200 * HALF_LIFE)).isCloseTo(1.0, within(1e-6));
+        assertThat(statistics.score(1)).isGreaterThan(statistics.score(0));
+    }
+
+    @Test
+    public void shouldRoundTripThroughFile() throws Exception
+    {
+        Path file = Files.createTempDirectory("usage").resolve("usage.bin");
+        long fingerprint = UsageStatistics.fingerprint(Arrays.asList("a", "b", "c"));
+        UsageStatistics statistics = new UsageStatistics(3, fingerprint, HALF_LIFE, 0);
+        statistics.record(2, HALF_LIFE);
+        statistics.flush(file).get();
+
+        UsageStatistics loaded = UsageStatistics.load(file, 3, fingerprint).get();
+        assertThat(loaded.score(2)).isEqualTo(statistics.score(2));
+        assertThat(loaded.score(0)).isEqualTo(0f);
+
+        UsageStatistics otherValues = UsageStatistics.load(file, 3, fingerprint + 1).get();
+        assertThat(otherValues.hasUsage()).isFalse();
+
+        UsageStatistics missing = UsageStatistics.load(file.resolveSibling("missing.bin"), 3, fingerprint).get();
+        assertThat(missing.hasUsage()).isFalse();
+    }
+
+    @Test
+    public void shouldRoundTripCountersRescaledToZero() throws Exception
+    {
+        Path file = Files.createTempDirectory("usage").resolve("usage.bin");
+        UsageStatistics statistics = new UsageStatistics(3, 0, HALF_LIFE, 0);
+        statistics.record(0, 0);
+        statistics.record(1, 200 * HALF_LIFE);
+        assertThat(statistics.score(0)).isEqualTo(0f);
+        statistics.flush(file).get();
+
+        UsageStatistics loaded = UsageStatistics.load(file, 3, 0).get();
+        assertThat(loaded.hasUsage()).isTrue();
+        assertThat(loaded.score(1)).isEqualTo(statistics.score(1));
+    }
+
+    @Test
+    public void shouldMergeStatisticsWithDistantOrigins() throws Exception
+    {
+        UsageStatistics persisted = new UsageStatistics(3, 0, HALF_LIFE, 0);
+        persisted.record(0, 0);
+        persisted.record(1, 199 * HALF_LIFE);
+        UsageStatistics current = new UsageStatistics(3, 0, 2 * HALF_LIFE, 200 * HALF_LIFE);
+        current.record(2, 200 * HALF_LIFE);
+
+        persisted.merge(current);
+
+        assertThat(Float.isInfinite(persisted.score(2))).isFalse();
+        assertThat(persisted.decayedCount(1, 200 * HALF_LIFE)).isCloseTo(0.5, within(1e-6));
+        assertThat(persisted.decayedCount(2, 200 * HALF_LIFE)).isCloseTo(1.0, within(1e-6));
+
+        Path file = Files.createTempDirectory("usage").resolve("usage.bin");
+        persisted.flush(file).get();
+        UsageStatistics loaded = UsageStatistics.load(file, 3, 0).get();
+        assertThat(loaded.score(1)).isEqualTo(persisted.score(1));
+        assertThat(loaded.score(2)).isEqualTo(persisted.score(2));
+    }
+
+    @Test
+    public void shouldForgetSelectionsScaledDownToZero()
+    {
+        UsageStatistics persisted = new UsageStatistics(3, 0, HALF_LIFE, 0);
+        persisted.record(0, 0);
+        UsageStatistics current = new UsageStatistics(3, 0, HALF_LIFE, 300 * HALF_LIFE);
+
+        current.merge(persisted);
+
+        assertThat(current.score(0)).isEqualTo(0f);
+        assertThat(current.hasUsage()).isFalse();
+    }
+
+    @Test
+    public void shouldIgnoreCorruptFile() throws Exception
+    {
+        Path file = Files.createTempDirectory("usage").resolve("usage.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file)))
+        {
+            out.writeInt(0x41435553);
+            out.writeInt(1);
+            out.writeInt(3);
+            out.writeLong(0);
+            out.writeLong(HALF_LIFE);
+            out.writeLong(0);
+            out.writeInt(1);
+            out.writeInt(7);
+            out.writeFloat(1);
+        }
+
+        UsageStatistics loaded = UsageStatistics.load(file, 3, 0).get();
+        assertThat(loaded.hasUsage()).isFalse();
+    }
+}
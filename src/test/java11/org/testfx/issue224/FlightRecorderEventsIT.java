@@ -0,0 +1,61 @@
+package org.testfx.issue224;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlightRecorderEventsIT
+{
+    @Test
+    public void shouldNotCreateEventsWhileNotRecorded()
+    {
+        assertThat(FlightRecorderEvents.AVAILABLE).isTrue();
+        assertThat(FlightRecorderEvents.beginQuery()).isNull();
+        assertThat(FlightRecorderEvents.beginIndexBuild()).isNull();
+        assertThat(FlightRecorderEvents.beginPopupShow()).isNull();
+    }
+
+    @Test
+    public void shouldRecordEventsOfTheVersionedClasses() throws Exception
+    {
+        Path file = Files.createTempFile("autocomplete", ".jfr");
+        try (Recording recording = new Recording())
+        {
+            recording.enable("org.testfx.issue224.IndexBuild").withoutThreshold();
+            recording.start();
+
+            IndexBuildEvent event = FlightRecorderEvents.beginIndexBuild();
+            assertThat((Object) event).isInstanceOf(Event.class);
+            assertThat(FlightRecorderEvents.beginQuery()).isNull();
+            event.keyCount = 42;
+            event.locale = "sv-SE";
+            event.foldAccentMarks = true;
+            event.commit();
+
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("org.testfx.issue224.IndexBuild"))
+                .collect(Collectors.toList());
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).getInt("keyCount")).isEqualTo(42);
+            assertThat(events.get(0).getString("locale")).isEqualTo("sv-SE");
+            assertThat(events.get(0).getBoolean("foldAccentMarks")).isTrue();
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+}